@@ -1,6 +1,8 @@
 package com.lms.config;
 
+import com.lms.entity.Role;
 import com.lms.util.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private SecurityEpochTable securityEpochTable;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Value("${jwt.stateless.enabled:true}")
+    private boolean statelessEnabled;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -31,17 +43,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails,
-                                null,
-                                userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            Claims claims = jwt != null ? jwtUtils.parseAndValidate(jwt) : null;
+            if (claims != null && !tokenRevocationList.isRevoked(claims.getId())) {
+                UserDetails userDetails = loadPrincipal(claims);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails,
+                                    null,
+                                    userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -50,6 +63,29 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal straight from the token when it carries id, role and security epoch,
+     * so the request costs no query on {@code users} as long as the epoch table entry is fresh.
+     * Tokens issued before these claims existed, or with the fast path disabled, fall back to
+     * loading the user. Returns null when the token's epoch is no longer current.
+     */
+    private UserDetails loadPrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+        Long epoch = claims.get(JwtUtils.CLAIM_SECURITY_EPOCH, Long.class);
+
+        if (!statelessEnabled || userId == null || role == null || epoch == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (!securityEpochTable.isCurrent(userId, epoch)) {
+            logger.debug("Rejecting token for user {}: security epoch {} is no longer current", userId, epoch);
+            return null;
+        }
+
+        return UserPrincipal.fromClaims(userId, claims.getSubject(), Role.valueOf(role), epoch);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
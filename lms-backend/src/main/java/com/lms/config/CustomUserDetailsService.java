@@ -2,23 +2,28 @@ package com.lms.config;
 
 import com.lms.entity.User;
 import com.lms.repository.UserRepository;
+import com.lms.service.UserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = userCache.getByUsername(username, userRepository::findByUsername)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
         if (!user.getActive()) {
@@ -27,4 +32,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a rehashed password produced at signin. The password itself is unchanged, so the
+     * security epoch is not bumped and issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        userCache.invalidate(principal.getId(), principal.getUsername());
+
+        return principal.withPassword(newPassword);
+    }
+}
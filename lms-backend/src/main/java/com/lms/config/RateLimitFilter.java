@@ -0,0 +1,255 @@
+package com.lms.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token-bucket rate limiting for the credential endpoints, applied before any authentication
+ * work so a rejected attempt never reaches DaoAuthenticationProvider (and never costs a BCrypt
+ * verification). Buckets are keyed by group plus client IP or submitted username and live in a
+ * bounded Caffeine map that evicts idle keys, so memory stays flat under high key cardinality.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> groupByPath = new HashMap<>();
+    private final Map<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleEviction())
+                .build();
+        properties.getGroups().forEach((name, group) ->
+                group.getPaths().forEach(path -> groupByPath.put(path, name)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !groupByPath.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String groupName = groupByPath.get(request.getServletPath());
+        RateLimitProperties.Group group = properties.getGroups().get(groupName);
+
+        if (group.getPerIp() != null) {
+            long waitNanos = tryConsume(groupName + ":ip:" + clientIp(request), group.getPerIp());
+            if (waitNanos > 0) {
+                reject(response, groupName, "ip", waitNanos);
+                return;
+            }
+        }
+
+        HttpServletRequest effectiveRequest = request;
+        if (group.getPerUsername() != null) {
+            // Credential payloads are tiny; refuse anything that would need more than the
+            // buffered prefix rather than rate limiting (and authenticating) a truncated body
+            byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                    ? null : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body == null || body.length > MAX_BODY_BYTES) {
+                logger.warn("Rejected oversized {} request body", groupName);
+                writeError(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                        "Request body must not exceed " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+            CachedBodyRequest cached = new CachedBodyRequest(request, body);
+            effectiveRequest = cached;
+            String username = usernameOf(cached.body);
+            if (username != null) {
+                long waitNanos = tryConsume(groupName + ":user:" + username, group.getPerUsername());
+                if (waitNanos > 0) {
+                    reject(response, groupName, "username", waitNanos);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(effectiveRequest, response);
+    }
+
+    private long tryConsume(String key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPeriod().toNanos()))
+                .tryConsume(System.nanoTime());
+    }
+
+    private void reject(HttpServletResponse response, String group, String keyType, long waitNanos) throws IOException {
+        counter(group, keyType).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        logger.warn("Rate limit exceeded for {} by {}", group, keyType);
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, 429, "Too many attempts, please retry in " + retryAfterSeconds + " seconds");
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status);
+        body.put("message", message);
+        body.put("timestamp", LocalDateTime.now().toString());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private Counter counter(String group, String keyType) {
+        return rejectionCounters.computeIfAbsent(group + ":" + keyType, k -> Counter.builder("auth.rate_limit.rejected")
+                .description("Requests rejected by the authentication rate limiter")
+                .tag("group", group)
+                .tag("key", keyType)
+                .register(meterRegistry));
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                int comma = forwarded.indexOf(',');
+                return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String usernameOf(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller; only the IP bucket applies
+            return null;
+        }
+    }
+
+    /**
+     * Continuous-refill token bucket. Synchronizing on the bucket makes contention per key, not
+     * global. Returns 0 when a token was taken, otherwise the nanoseconds until one is available.
+     */
+    static class TokenBucket {
+        private final long capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(long capacity, long refillPeriodNanos) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) capacity / refillPeriodNanos;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    /**
+     * Replays the (size-checked) body read up front so the username can be inspected and the
+     * controller can still deserialize it.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is available immediately
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint-group limits for {@link RateLimitFilter}, bound from {@code rate-limit.*}.
+ * Each group lists the request paths it covers and an optional token bucket per client IP
+ * and per submitted username.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private boolean trustForwardedFor = false;
+    private long maxBuckets = 100_000;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private Limit perIp;
+        private Limit perUsername;
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+
+        public Limit getPerUsername() {
+            return perUsername;
+        }
+
+        public void setPerUsername(Limit perUsername) {
+            this.perUsername = perUsername;
+        }
+    }
+
+    /**
+     * Bucket of {@code capacity} tokens, refilled continuously at {@code capacity} per
+     * {@code refillPeriod}.
+     */
+    public static class Limit {
+        private long capacity;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public long getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(long maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+}
@@ -1,6 +1,7 @@
 package com.lms.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,8 +11,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -31,16 +30,47 @@ public class SecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${auth.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${auth.hashing.retry-after-seconds:2}")
+    private long hashingRetryAfterSeconds;
+
+    @Value("${auth.bcrypt.target-cost:10}")
+    private int bcryptTargetCost;
+
+    @Value("${auth.bcrypt.calibrate:false}")
+    private boolean bcryptCalibrate;
+
+    @Value("${auth.bcrypt.latency-budget-ms:250}")
+    private long bcryptLatencyBudgetMs;
+
+    @Value("${auth.bcrypt.min-cost:10}")
+    private int bcryptMinCost;
+
+    @Value("${auth.bcrypt.max-cost:14}")
+    private int bcryptMaxCost;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the stored password after a successful signin when its cost is not the target
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -50,8 +80,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        // threads <= 0 means one hashing thread per available core
+        int cost = bcryptCalibrate
+                ? TunableBCryptPasswordEncoder.calibrate(bcryptLatencyBudgetMs, bcryptMinCost, bcryptMaxCost)
+                : bcryptTargetCost;
+        return new BoundedPasswordEncoder(new TunableBCryptPasswordEncoder(cost),
+                hashingThreads, hashingQueueCapacity, hashingRetryAfterSeconds);
     }
 
     @Bean
@@ -74,6 +109,7 @@ public class SecurityConfig {
                 );
 
         http.authenticationProvider(authenticationProvider());
+        http.addFilterBefore(rateLimitFilter(), UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -0,0 +1,59 @@
+package com.lms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Small in-memory view of each user's security epoch, used by the stateless JWT path.
+ * Entries expire {@code jwt.epoch-refresh-ms} after they were written and are then reloaded from
+ * the database, so changes made on another instance become visible within that window. Changes
+ * made through {@link com.lms.service.UserService} on this instance are recorded immediately.
+ * When the table is full, single least-recently-used entries are evicted; an evicted user simply
+ * falls back to the database on the next lookup.
+ */
+@Component
+public class SecurityEpochTable {
+
+    private static final long INACTIVE = -1L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<Long, Long> epochs;
+
+    public SecurityEpochTable(@Value("${jwt.epoch-refresh-ms:30000}") long refreshMs,
+                              @Value("${jwt.epoch-max-entries:100000}") long maxEntries) {
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(refreshMs))
+                .build();
+    }
+
+    /**
+     * Returns true if a token carrying {@code tokenEpoch} is still acceptable for the user,
+     * i.e. the account is active and nothing security-relevant has changed since it was issued.
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        long epoch = epochs.get(userId, id -> userRepository.findActiveSecurityEpochById(id).orElse(INACTIVE));
+        return epoch != INACTIVE && epoch == tokenEpoch;
+    }
+
+    public void record(Long userId, long epoch, boolean active) {
+        epochs.put(userId, active ? epoch : INACTIVE);
+    }
+
+    public void revoke(Long userId) {
+        epochs.put(userId, INACTIVE);
+    }
+
+    public long size() {
+        epochs.cleanUp();
+        return epochs.estimatedSize();
+    }
+}
@@ -0,0 +1,100 @@
+package com.lms.config;
+
+import com.lms.entity.RevokedToken;
+import com.lms.repository.RevokedTokenRepository;
+import com.lms.util.BloomFilter;
+import com.lms.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Deny list of access tokens revoked before their expiry, keyed by {@code jti}. A Bloom filter
+ * over the persisted entries answers "definitely not revoked" for almost every request, so the
+ * database is only consulted on a filter hit. The filter is rebuilt every
+ * {@code jwt.revocation.refresh-ms}, which drops expired entries and picks up revocations made
+ * on other instances; revocations made on this instance take effect immediately.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByJti(jti);
+    }
+
+    /**
+     * Revokes the token described by already verified claims. Tokens without a jti predate
+     * revocation support and are left alone.
+     */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revoke(claims.getId(), claims.get(JwtUtils.CLAIM_USER_ID, Long.class), expiresAt);
+    }
+
+    public synchronized void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, userId, expiresAt));
+        }
+        filter.put(jti);
+    }
+
+    /**
+     * Deletes entries whose token has expired, in fixed-size batches, and swaps in a filter built
+     * from the remaining ones. Synchronized with {@link #revoke} so no revocation made during the
+     * rebuild is lost in the swap.
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.refresh-ms:30000}",
+               fixedDelayString = "${jwt.revocation.refresh-ms:30000}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expired;
+        do {
+            expired = revokedTokenRepository.findExpiredIds(now, PageRequest.of(0, sweepBatchSize));
+            if (!expired.isEmpty()) {
+                revokedTokenRepository.deleteAllByIdInBatch(expired);
+            }
+        } while (expired.size() == sweepBatchSize);
+
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, active.size() * 2L), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+        logger.debug("Rebuilt token revocation filter with {} entries", active.size());
+    }
+}
@@ -0,0 +1,83 @@
+package com.lms.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost is chosen by configuration or by a startup calibration against a
+ * latency budget. Unlike the stock encoder, {@link #upgradeEncoding} reports any stored hash whose
+ * cost differs from the target (lower or higher), so DaoAuthenticationProvider rehashes it on the
+ * user's next successful signin.
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Logger logger = LoggerFactory.getLogger(TunableBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final int MIN_COST = 4;
+    private static final int MAX_COST = 31;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int targetCost;
+
+    public TunableBCryptPasswordEncoder(int targetCost) {
+        super(targetCost);
+        this.targetCost = targetCost;
+    }
+
+    public int getTargetCost() {
+        return targetCost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Integer cost = costOf(encodedPassword);
+        return cost != null && cost != targetCost;
+    }
+
+    static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : null;
+    }
+
+    /**
+     * Returns the highest cost in [minCost, maxCost] whose hash time on this machine stays within
+     * the budget, or minCost if even that is over budget. Each step doubles the work, so this
+     * stops after a few hashes.
+     */
+    public static int calibrate(long latencyBudgetMs, int minCost, int maxCost) {
+        int floor = Math.max(MIN_COST, minCost);
+        int ceiling = Math.min(MAX_COST, maxCost);
+        BCrypt.hashpw("warmup", BCrypt.gensalt(MIN_COST));
+
+        int chosen = floor;
+        for (int cost = floor; cost <= ceiling; cost++) {
+            long elapsedMs = fastestHashMs(cost);
+            logger.info("BCrypt cost {} takes {} ms", cost, elapsedMs);
+            if (elapsedMs > latencyBudgetMs) {
+                break;
+            }
+            chosen = cost;
+        }
+        logger.info("Calibrated BCrypt cost {} for a {} ms budget", chosen, latencyBudgetMs);
+        return chosen;
+    }
+
+    private static long fastestHashMs(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+}
@@ -1,5 +1,6 @@
 package com.lms.config;
 
+import com.lms.entity.Role;
 import com.lms.entity.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,7 +13,11 @@ public class UserPrincipal implements UserDetails {
     private Long id;
     private String username;
     private String email;
+    private String firstName;
+    private String lastName;
     private String password;
+    private Role role;
+    private long securityEpoch;
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(Long id, String username, String email, String password, Collection<? extends GrantedAuthority> authorities) {
@@ -23,18 +28,37 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
-    public static UserPrincipal create(User user) {
-        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
+    public UserPrincipal(Long id, String username, String email, String firstName, String lastName,
+                         String password, Role role, long securityEpoch) {
+        this(id, username, email, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.securityEpoch = securityEpoch;
+    }
 
+    public static UserPrincipal create(User user) {
         return new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
                 user.getPassword(),
-                Collections.singletonList(authority)
+                user.getRole(),
+                user.getSecurityEpoch() == null ? 0L : user.getSecurityEpoch()
         );
     }
 
+    // Built from verified JWT claims; carries no password and no database-only fields
+    public static UserPrincipal fromClaims(Long id, String username, Role role, long securityEpoch) {
+        return new UserPrincipal(id, username, null, null, null, null, role, securityEpoch);
+    }
+
+    public UserPrincipal withPassword(String newPassword) {
+        return new UserPrincipal(id, username, email, firstName, lastName, newPassword, role, securityEpoch);
+    }
+
     public Long getId() {
         return id;
     }
@@ -43,6 +67,22 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public long getSecurityEpoch() {
+        return securityEpoch;
+    }
+
     @Override
     public String getUsername() {
         return username;
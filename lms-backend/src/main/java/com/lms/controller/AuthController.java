@@ -1,17 +1,23 @@
 package com.lms.controller;
 
+import com.lms.config.TokenRevocationList;
 import com.lms.config.UserPrincipal;
 import com.lms.dto.JwtResponse;
 import com.lms.dto.LoginRequest;
 import com.lms.dto.SignupRequest;
+import com.lms.dto.TokenRefreshRequest;
+import com.lms.dto.TokenRefreshResponse;
 import com.lms.dto.UserResponse;
 import com.lms.entity.User;
+import com.lms.service.RefreshTokenService;
 import com.lms.service.UserService;
 import com.lms.util.JwtUtils;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -34,6 +40,12 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     @PostMapping("/signin")
     @Operation(summary = "Sign in user", description = "Authenticate user and return JWT token")
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
@@ -43,16 +55,40 @@ public class AuthController {
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
+        // The principal was loaded by DaoAuthenticationProvider and already carries the profile fields
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
-        User user = userService.findById(userDetails.getId());
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                user.getId(),
-                user.getUsername(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getRole()));
+        JwtResponse response = new JwtResponse(jwt,
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                userDetails.getFirstName(),
+                userDetails.getLastName(),
+                userDetails.getRole());
+        response.setRefreshToken(refreshTokenService.issue(userDetails));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new access token and refresh token")
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        return ResponseEntity.ok(refreshTokenService.rotate(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Log out", description = "Revoke the presented access token, plus the refresh token and every token rotated from it")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) TokenRefreshRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseAndValidate(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationList.revoke(claims);
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok().build();
     }
 
     @PostMapping("/signup")
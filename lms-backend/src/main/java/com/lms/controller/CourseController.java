@@ -2,13 +2,25 @@ package com.lms.controller;
 
 import com.lms.config.UserPrincipal;
 import com.lms.dto.AdminCourseRequest;
+import com.lms.dto.CourseBrowseResponse;
+import com.lms.dto.CourseDetailResponse;
 import com.lms.dto.CourseRequest;
 import com.lms.dto.CourseResponse;
+import com.lms.dto.CursorPage;
+import com.lms.dto.LessonCompactionReport;
 import com.lms.dto.LessonRequest;
 import com.lms.dto.LessonResponse;
+import com.lms.dto.ProgressFanoutResponse;
+import com.lms.dto.SuggestionResponse;
+import com.lms.entity.ContentType;
 import com.lms.entity.CourseStatus;
+import com.lms.entity.Lesson;
+import com.lms.search.CourseFacetIndex;
+import com.lms.search.CourseSuggester;
 import com.lms.service.CourseService;
+import com.lms.service.LessonContentCompactor;
 import com.lms.service.LessonService;
+import com.lms.service.ProgressFanoutService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,12 +29,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -36,6 +59,15 @@ public class CourseController {
     @Autowired
     private LessonService lessonService;
 
+    @Autowired
+    private CourseSuggester courseSuggester;
+
+    @Autowired
+    private LessonContentCompactor lessonContentCompactor;
+
+    @Autowired
+    private ProgressFanoutService progressFanoutService;
+
     // Public endpoints for browsing published courses
     @GetMapping("/public")
     @Operation(summary = "Get published courses", description = "Get all published courses with pagination")
@@ -53,18 +85,49 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/public/scroll")
+    @Operation(summary = "Scroll published courses", description = "Keyset-paginated published courses, newest first; pass nextCursor back as cursor")
+    public ResponseEntity<CursorPage<CourseResponse>> scrollPublishedCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(courseService.scrollPublishedCourses(cursor, size));
+    }
+
     @GetMapping("/public/search")
-    @Operation(summary = "Search published courses", description = "Search published courses by keyword")
+    @Operation(summary = "Search published courses", description = "Search published courses by keyword, ranked by relevance; fuzzy=true tolerates misspellings")
     public ResponseEntity<Page<CourseResponse>> searchCourses(
             @RequestParam(required = false) String keyword,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
+        // Keyword results come back in relevance order; the sort only applies to the no-keyword listing
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<CourseResponse> courses = courseService.searchCourses(keyword, pageable);
+        Page<CourseResponse> courses = courseService.searchCourses(keyword, fuzzy, pageable);
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/public/suggest")
+    @Operation(summary = "Suggest courses and instructors", description = "Typeahead suggestions for a title or instructor name prefix, most enrolled first")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(courseSuggester.suggest(prefix, limit));
+    }
+
+    @GetMapping("/public/browse")
+    @Operation(summary = "Browse published courses by facet", description = "Filter published courses by instructor, lesson content type, lesson count and creation month, with counts per facet value")
+    public ResponseEntity<CourseBrowseResponse> browsePublishedCourses(
+            @RequestParam(required = false) List<Long> instructorId,
+            @RequestParam(required = false) List<ContentType> contentType,
+            @RequestParam(required = false) List<String> lessons,
+            @RequestParam(required = false) List<String> month,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Map<String, Set<String>> selection = facetSelection(null, instructorId, contentType, lessons, month);
+        return ResponseEntity.ok(courseService.browseCourses(selection, true, browsePage(page, size)));
+    }
+
     @GetMapping("/public/{id}")
     @Operation(summary = "Get course details", description = "Get published course details by ID")
     public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long id) {
@@ -72,13 +135,71 @@ public class CourseController {
         return ResponseEntity.ok(course);
     }
 
+    @GetMapping("/public/{id}/detail")
+    @Operation(summary = "Get course page", description = "Course, ordered lessons and, for an enrolled caller, enrollment and per-lesson progress in one response")
+    public ResponseEntity<CourseDetailResponse> getCourseDetail(
+            @PathVariable Long id,
+            Authentication authentication) {
+        Long studentId = null;
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            studentId = userPrincipal.getId();
+        }
+        return ResponseEntity.ok(courseService.getCourseDetail(id, studentId));
+    }
+
     @GetMapping("/public/{id}/lessons")
-    @Operation(summary = "Get course lessons", description = "Get lessons for a published course")
-    public ResponseEntity<List<LessonResponse>> getCourseLessons(@PathVariable Long id) {
-        List<LessonResponse> lessons = lessonService.getLessonsByCourse(id);
+    @Operation(summary = "Get course lessons", description = "Get lessons for a published course; content is omitted unless includeContent=true")
+    public ResponseEntity<List<LessonResponse>> getCourseLessons(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeContent) {
+        List<LessonResponse> lessons = includeContent
+                ? lessonService.getLessonsByCourse(id)
+                : lessonService.getLessonSummariesByCourse(id);
         return ResponseEntity.ok(lessons);
     }
 
+    @GetMapping("/public/{id}/lessons/{lessonId}/content")
+    @Operation(summary = "Get lesson content", description = "Get a single lesson with its content; honours If-None-Match")
+    public ResponseEntity<LessonResponse> getLessonContent(
+            @PathVariable Long id,
+            @PathVariable Long lessonId,
+            WebRequest request) {
+        // The version check reads only the timestamp, so a 304 never loads the content
+        String eTag = lessonETag(lessonId, lessonService.getLessonVersion(id, lessonId), "");
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(lessonService.getLessonContent(id, lessonId));
+    }
+
+    @GetMapping(value = "/public/{id}/lessons/{lessonId}/content/raw", produces = "text/plain;charset=UTF-8")
+    @Operation(summary = "Get raw lesson content", description = "Lesson body as plain text; compressed bodies are sent as stored to clients accepting gzip")
+    public ResponseEntity<byte[]> getRawLessonContent(
+            @PathVariable Long id,
+            @PathVariable Long lessonId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        boolean gzipAccepted = acceptsGzip(acceptEncoding);
+        String eTag = lessonETag(lessonId, lessonService.getLessonVersion(id, lessonId), gzipAccepted ? "-gz" : "");
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Lesson lesson = lessonService.findInCourse(id, lessonId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzipAccepted && lesson.isContentCompressed()) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(lesson.getContentGzip());
+        }
+        String content = lesson.getContent();
+        return response.body(content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8));
+    }
+
     // Instructor endpoints
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR')")
@@ -116,6 +237,17 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/my-courses/scroll")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    @Operation(summary = "Scroll instructor courses", description = "Keyset-paginated courses created by the instructor, newest first")
+    public ResponseEntity<CursorPage<CourseResponse>> scrollInstructorCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(courseService.scrollCoursesByInstructor(userPrincipal.getId(), cursor, size));
+    }
+
     @PostMapping("/{id}/submit")
     @PreAuthorize("hasRole('INSTRUCTOR')")
     @Operation(summary = "Submit course for approval", description = "Submit course for admin approval")
@@ -176,6 +308,17 @@ public class CourseController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/{courseId}/lessons/{lessonId}/progress-fanout")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    @Operation(summary = "Get progress fan-out status", description = "Status of the background job creating progress for enrolled students of a new lesson")
+    public ResponseEntity<ProgressFanoutResponse> getProgressFanout(
+            @PathVariable Long courseId,
+            @PathVariable Long lessonId,
+            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(progressFanoutService.getLessonFanout(courseId, lessonId, userPrincipal.getId()));
+    }
+
     // Admin endpoints
     @PostMapping("/admin/create")
     @PreAuthorize("hasRole('ADMIN')")
@@ -197,6 +340,30 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
+    @GetMapping("/admin/all/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll all courses", description = "Keyset-paginated courses, newest first (Admin only)")
+    public ResponseEntity<CursorPage<CourseResponse>> scrollAllCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(courseService.scrollAllCourses(cursor, size));
+    }
+
+    @GetMapping("/admin/browse")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Browse all courses by facet", description = "Filter courses by status, instructor, lesson content type, lesson count and creation month, with counts per facet value (Admin only)")
+    public ResponseEntity<CourseBrowseResponse> browseAllCourses(
+            @RequestParam(required = false) List<CourseStatus> status,
+            @RequestParam(required = false) List<Long> instructorId,
+            @RequestParam(required = false) List<ContentType> contentType,
+            @RequestParam(required = false) List<String> lessons,
+            @RequestParam(required = false) List<String> month,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Map<String, Set<String>> selection = facetSelection(status, instructorId, contentType, lessons, month);
+        return ResponseEntity.ok(courseService.browseCourses(selection, false, browsePage(page, size)));
+    }
+
     @GetMapping("/admin/pending")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get pending courses", description = "Get courses pending approval (Admin only)")
@@ -231,4 +398,79 @@ public class CourseController {
         courseService.adminDeleteCourse(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/admin/lessons/compact")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Compress stored lesson content", description = "Compress existing lesson bodies in batches and report the savings (Admin only)")
+    public ResponseEntity<LessonCompactionReport> compactLessonContent() {
+        return ResponseEntity.ok(lessonContentCompactor.compactAll());
+    }
+
+    @GetMapping("/admin/progress-fanout")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get unfinished progress fan-out jobs", description = "Pending, running and failed progress fan-out jobs (Admin only)")
+    public ResponseEntity<List<ProgressFanoutResponse>> getUnfinishedProgressFanouts() {
+        return ResponseEntity.ok(progressFanoutService.getUnfinishedJobs());
+    }
+
+    private static String lessonETag(Long lessonId, LocalDateTime version, String variant) {
+        return "\"" + lessonId + "-" + version.toInstant(ZoneOffset.UTC).toEpochMilli() + variant + "\"";
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: an explicit gzip coding decides on its own q-value,
+     * otherwise a "*" wildcard does. A q-value of 0 (or one that does not parse) means "not
+     * acceptable", so "gzip;q=0" is a refusal rather than a match.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 1 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static Pageable browsePage(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, CourseFacetIndex.MAX_PAGE_SIZE)));
+    }
+
+    private static Map<String, Set<String>> facetSelection(List<CourseStatus> status, List<Long> instructorId,
+                                                           List<ContentType> contentType, List<String> lessons,
+                                                           List<String> month) {
+        Map<String, Set<String>> selection = new HashMap<>();
+        putValues(selection, CourseFacetIndex.STATUS, status);
+        putValues(selection, CourseFacetIndex.INSTRUCTOR, instructorId);
+        putValues(selection, CourseFacetIndex.CONTENT_TYPE, contentType);
+        putValues(selection, CourseFacetIndex.LESSONS, lessons);
+        putValues(selection, CourseFacetIndex.MONTH, month);
+        return selection;
+    }
+
+    private static void putValues(Map<String, Set<String>> selection, String facet, List<?> values) {
+        if (values != null && !values.isEmpty()) {
+            selection.put(facet, values.stream().map(String::valueOf).collect(Collectors.toSet()));
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.lms.controller;
 
 import com.lms.config.UserPrincipal;
+import com.lms.dto.CursorPage;
 import com.lms.dto.EnrollmentResponse;
-import com.lms.entity.Progress;
+import com.lms.dto.LessonProgressResponse;
 import com.lms.service.EnrollmentService;
 import com.lms.service.ProgressService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,12 +35,13 @@ public class EnrollmentController {
     // Student endpoints
     @PostMapping("/enroll/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
-    @Operation(summary = "Enroll in course", description = "Enroll student in a course")
+    @Operation(summary = "Enroll in course", description = "Enroll student in a course; repeating the request returns the existing enrollment")
     public ResponseEntity<EnrollmentResponse> enrollInCourse(
             @PathVariable Long courseId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        EnrollmentResponse enrollment = enrollmentService.enrollStudent(courseId, userPrincipal.getId());
+        EnrollmentResponse enrollment = enrollmentService.enrollStudent(courseId, userPrincipal.getId(), idempotencyKey);
         return ResponseEntity.ok(enrollment);
     }
 
@@ -56,6 +58,17 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollments);
     }
 
+    @GetMapping("/my-enrollments/scroll")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Scroll student enrollments", description = "Keyset-paginated enrollments for the current student, newest first")
+    public ResponseEntity<CursorPage<EnrollmentResponse>> scrollMyEnrollments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(enrollmentService.scrollStudentEnrollments(userPrincipal.getId(), cursor, size));
+    }
+
     @DeleteMapping("/{enrollmentId}/unenroll")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Unenroll from course", description = "Unenroll student from a course")
@@ -82,47 +95,47 @@ public class EnrollmentController {
     @PostMapping("/progress/{courseId}/lessons/{lessonId}/complete")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Mark lesson complete", description = "Mark a lesson as completed")
-    public ResponseEntity<Progress> markLessonComplete(
+    public ResponseEntity<LessonProgressResponse> markLessonComplete(
             @PathVariable Long courseId,
             @PathVariable Long lessonId,
             Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Progress progress = progressService.markLessonComplete(userPrincipal.getId(), courseId, lessonId);
+        LessonProgressResponse progress = progressService.markLessonComplete(userPrincipal.getId(), courseId, lessonId);
         return ResponseEntity.ok(progress);
     }
 
     @PostMapping("/progress/{courseId}/lessons/{lessonId}/incomplete")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Mark lesson incomplete", description = "Mark a lesson as incomplete")
-    public ResponseEntity<Progress> markLessonIncomplete(
+    public ResponseEntity<LessonProgressResponse> markLessonIncomplete(
             @PathVariable Long courseId,
             @PathVariable Long lessonId,
             Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Progress progress = progressService.markLessonIncomplete(userPrincipal.getId(), courseId, lessonId);
+        LessonProgressResponse progress = progressService.markLessonIncomplete(userPrincipal.getId(), courseId, lessonId);
         return ResponseEntity.ok(progress);
     }
 
     @GetMapping("/progress/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Get course progress", description = "Get student's progress for a course")
-    public ResponseEntity<List<Progress>> getCourseProgress(
+    public ResponseEntity<List<LessonProgressResponse>> getCourseProgress(
             @PathVariable Long courseId,
             Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        List<Progress> progress = progressService.getStudentProgressForCourse(userPrincipal.getId(), courseId);
+        List<LessonProgressResponse> progress = progressService.getStudentProgressForCourse(userPrincipal.getId(), courseId);
         return ResponseEntity.ok(progress);
     }
 
     @GetMapping("/progress/{courseId}/lessons/{lessonId}")
     @PreAuthorize("hasRole('STUDENT')")
     @Operation(summary = "Get lesson progress", description = "Get student's progress for a specific lesson")
-    public ResponseEntity<Progress> getLessonProgress(
+    public ResponseEntity<LessonProgressResponse> getLessonProgress(
             @PathVariable Long courseId,
             @PathVariable Long lessonId,
             Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Progress progress = progressService.getStudentProgressForLesson(userPrincipal.getId(), courseId, lessonId);
+        LessonProgressResponse progress = progressService.getStudentProgressForLesson(userPrincipal.getId(), courseId, lessonId);
         return ResponseEntity.ok(progress);
     }
 
@@ -140,6 +153,17 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollments);
     }
 
+    @GetMapping("/instructor/my-students/scroll")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    @Operation(summary = "Scroll instructor's students", description = "Keyset-paginated enrollments in the instructor's courses, newest first")
+    public ResponseEntity<CursorPage<EnrollmentResponse>> scrollInstructorStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(enrollmentService.scrollInstructorEnrollments(userPrincipal.getId(), cursor, size));
+    }
+
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
     @Operation(summary = "Get course enrollments", description = "Get all enrollments for a specific course")
@@ -152,6 +176,16 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollments);
     }
 
+    @GetMapping("/course/{courseId}/scroll")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Scroll course enrollments", description = "Keyset-paginated enrollments for a specific course, newest first")
+    public ResponseEntity<CursorPage<EnrollmentResponse>> scrollCourseEnrollments(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(enrollmentService.scrollCourseEnrollments(courseId, cursor, size));
+    }
+
     // Admin endpoints
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
@@ -164,6 +198,15 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollments);
     }
 
+    @GetMapping("/admin/all/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll all enrollments", description = "Keyset-paginated enrollments, newest first; cost per page does not grow with depth (Admin only)")
+    public ResponseEntity<CursorPage<EnrollmentResponse>> scrollAllEnrollments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(enrollmentService.scrollAllEnrollments(cursor, size));
+    }
+
     @DeleteMapping("/admin/{enrollmentId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete enrollment (Admin)", description = "Delete any enrollment (Admin only)")
@@ -1,8 +1,10 @@
 package com.lms.controller;
 
+import com.lms.dto.CursorPage;
 import com.lms.dto.SignupRequest;
 import com.lms.dto.UserResponse;
 import com.lms.entity.Role;
+import com.lms.service.RefreshTokenService;
 import com.lms.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,6 +27,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     // Admin endpoints
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
@@ -43,6 +48,15 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/admin/all/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll all users", description = "Keyset-paginated users, newest first (Admin only)")
+    public ResponseEntity<CursorPage<UserResponse>> scrollAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(userService.scrollAllUsers(cursor, size));
+    }
+
     @GetMapping("/admin/active")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get active users", description = "Get all active users (Admin only)")
@@ -54,6 +68,15 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/admin/active/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll active users", description = "Keyset-paginated active users, newest first (Admin only)")
+    public ResponseEntity<CursorPage<UserResponse>> scrollActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(userService.scrollActiveUsers(cursor, size));
+    }
+
     @GetMapping("/admin/by-role/{role}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get users by role", description = "Get users by specific role (Admin only)")
@@ -66,6 +89,16 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/admin/by-role/{role}/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll users by role", description = "Keyset-paginated users with a specific role, newest first (Admin only)")
+    public ResponseEntity<CursorPage<UserResponse>> scrollUsersByRole(
+            @PathVariable Role role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(userService.scrollUsersByRole(role, cursor, size));
+    }
+
     @GetMapping("/admin/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get user by ID", description = "Get user details by ID (Admin only)")
@@ -100,6 +133,15 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/admin/{id}/revoke-sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revoke sessions", description = "Invalidate all access and refresh tokens of a user (Admin only)")
+    public ResponseEntity<Void> revokeSessions(@PathVariable Long id) {
+        userService.revokeSessions(id);
+        refreshTokenService.revokeAllForUser(id);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/admin/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete user", description = "Delete user account (Admin only)")
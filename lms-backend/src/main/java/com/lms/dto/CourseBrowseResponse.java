@@ -0,0 +1,35 @@
+package com.lms.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+public class CourseBrowseResponse {
+    private Page<CourseResponse> courses;
+    private Map<String, List<FacetValueResponse>> facets;
+
+    public CourseBrowseResponse() {}
+
+    public CourseBrowseResponse(Page<CourseResponse> courses, Map<String, List<FacetValueResponse>> facets) {
+        this.courses = courses;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public Page<CourseResponse> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(Page<CourseResponse> courses) {
+        this.courses = courses;
+    }
+
+    public Map<String, List<FacetValueResponse>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetValueResponse>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,82 @@
+package com.lms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the course page needs in one response: the course, its lessons in order and, when
+ * the caller is enrolled, their enrollment and per-lesson completion.
+ */
+public class CourseDetailResponse {
+    private CourseResponse course;
+    private List<LessonResponse> lessons = new ArrayList<>();
+    private boolean enrolled;
+    private Long enrollmentId;
+    private int completedLessons;
+    private double progressPercentage;
+    private List<LessonProgressResponse> progress = new ArrayList<>();
+
+    public CourseDetailResponse() {}
+
+    public CourseDetailResponse(CourseResponse course, List<LessonResponse> lessons) {
+        this.course = course;
+        this.lessons = lessons;
+    }
+
+    // Getters and Setters
+    public CourseResponse getCourse() {
+        return course;
+    }
+
+    public void setCourse(CourseResponse course) {
+        this.course = course;
+    }
+
+    public List<LessonResponse> getLessons() {
+        return lessons;
+    }
+
+    public void setLessons(List<LessonResponse> lessons) {
+        this.lessons = lessons;
+    }
+
+    public boolean isEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(boolean enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Long enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public double getProgressPercentage() {
+        return progressPercentage;
+    }
+
+    public void setProgressPercentage(double progressPercentage) {
+        this.progressPercentage = progressPercentage;
+    }
+
+    public List<LessonProgressResponse> getProgress() {
+        return progress;
+    }
+
+    public void setProgress(List<LessonProgressResponse> progress) {
+        this.progress = progress;
+    }
+}
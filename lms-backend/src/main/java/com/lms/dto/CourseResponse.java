@@ -34,6 +34,23 @@ public class CourseResponse {
         this.updatedAt = course.getUpdatedAt();
     }
 
+    // Used by the CourseRepository page projections
+    public CourseResponse(Long id, String title, String description, String instructorName, Long instructorId,
+                          CourseStatus status, String thumbnailUrl, Integer totalLessons, Integer enrollmentCount,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.instructorName = instructorName;
+        this.instructorId = instructorId;
+        this.status = status;
+        this.thumbnailUrl = thumbnailUrl;
+        this.totalLessons = totalLessons == null ? 0 : totalLessons;
+        this.enrollmentCount = enrollmentCount == null ? 0 : enrollmentCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
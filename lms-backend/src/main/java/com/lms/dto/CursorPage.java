@@ -0,0 +1,83 @@
+package com.lms.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A keyset-paginated slice: the rows, and the token for the next slice when there is one.
+ * There is deliberately no total count.
+ */
+public class CursorPage<T> {
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /** The window to query for a page of {@code size}: one extra row tells whether another page exists. */
+    public static Pageable window(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    /**
+     * Builds the page from rows fetched with {@link #window}, mapping each kept row and taking the
+     * next cursor from the last one.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        int pageSize = clamp(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> kept = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(kept.get(kept.size() - 1)) : null;
+        return new CursorPage<>(kept.stream().map(mapper).toList(), pageSize, hasNext, nextCursor);
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,6 +1,7 @@
 package com.lms.dto;
 
 import com.lms.entity.Enrollment;
+import com.lms.progress.CompletionBitmap;
 
 import java.time.LocalDateTime;
 
@@ -37,6 +38,29 @@ public class EnrollmentResponse {
         this.enrolledAt = enrollment.getEnrolledAt();
     }
 
+    // Projection constructor: completed lessons are counted in SQL from progress rows, or read
+    // from the completion bitmap when the bitmap store is used
+    public EnrollmentResponse(Long id, Long studentId, String studentFirstName, String studentLastName,
+                              String studentEmail, String studentUsername, Long courseId, String courseTitle,
+                              Integer totalLessons, Long completedProgressRows, byte[] progressBitmap,
+                              LocalDateTime enrolledAt) {
+        this.id = id;
+        this.studentId = studentId;
+        this.studentName = studentFirstName + " " + studentLastName;
+        this.studentFirstName = studentFirstName;
+        this.studentLastName = studentLastName;
+        this.studentEmail = studentEmail;
+        this.studentUsername = studentUsername;
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.completedLessons = progressBitmap != null
+                ? CompletionBitmap.count(progressBitmap)
+                : (completedProgressRows == null ? 0 : completedProgressRows.intValue());
+        this.totalLessons = totalLessons == null ? 0 : totalLessons;
+        this.progressPercentage = this.totalLessons == 0 ? 0.0 : ((double) completedLessons / this.totalLessons) * 100;
+        this.enrolledAt = enrolledAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
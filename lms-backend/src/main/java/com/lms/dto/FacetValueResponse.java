@@ -0,0 +1,40 @@
+package com.lms.dto;
+
+public class FacetValueResponse {
+    private String value;
+    private String label;
+    private long count;
+
+    public FacetValueResponse() {}
+
+    public FacetValueResponse(String value, String label, long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
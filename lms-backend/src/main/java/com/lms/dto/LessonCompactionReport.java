@@ -0,0 +1,78 @@
+package com.lms.dto;
+
+public class LessonCompactionReport {
+    private int batches;
+    private int lessonsScanned;
+    private int lessonsCompressed;
+    private long bytesBefore;
+    private long bytesAfter;
+
+    public LessonCompactionReport() {}
+
+    public void addBatch(LessonCompactionReport batch) {
+        this.batches++;
+        this.lessonsScanned += batch.lessonsScanned;
+        this.lessonsCompressed += batch.lessonsCompressed;
+        this.bytesBefore += batch.bytesBefore;
+        this.bytesAfter += batch.bytesAfter;
+    }
+
+    public void addLesson(long before, long after, boolean compressed) {
+        this.lessonsScanned++;
+        if (compressed) {
+            this.lessonsCompressed++;
+        }
+        this.bytesBefore += before;
+        this.bytesAfter += after;
+    }
+
+    public long getBytesSaved() {
+        return bytesBefore - bytesAfter;
+    }
+
+    public double getSavedPercentage() {
+        if (bytesBefore == 0) return 0.0;
+        return ((double) getBytesSaved() / bytesBefore) * 100;
+    }
+
+    // Getters and Setters
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public int getLessonsScanned() {
+        return lessonsScanned;
+    }
+
+    public void setLessonsScanned(int lessonsScanned) {
+        this.lessonsScanned = lessonsScanned;
+    }
+
+    public int getLessonsCompressed() {
+        return lessonsCompressed;
+    }
+
+    public void setLessonsCompressed(int lessonsCompressed) {
+        this.lessonsCompressed = lessonsCompressed;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public void setBytesBefore(long bytesBefore) {
+        this.bytesBefore = bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    public void setBytesAfter(long bytesAfter) {
+        this.bytesAfter = bytesAfter;
+    }
+}
@@ -0,0 +1,51 @@
+package com.lms.dto;
+
+import com.lms.entity.Progress;
+
+import java.time.LocalDateTime;
+
+public class LessonProgressResponse {
+    private Long lessonId;
+    private boolean completed;
+    private LocalDateTime completedAt;
+
+    public LessonProgressResponse() {}
+
+    public LessonProgressResponse(Long lessonId, boolean completed, LocalDateTime completedAt) {
+        this.lessonId = lessonId;
+        this.completed = completed;
+        this.completedAt = completedAt;
+    }
+
+    public LessonProgressResponse(Progress progress) {
+        // Only the id of the lazy lesson is read, so the proxy is never initialized
+        this.lessonId = progress.getLesson().getId();
+        this.completed = Boolean.TRUE.equals(progress.getCompleted());
+        this.completedAt = progress.getCompletedAt();
+    }
+
+    // Getters and Setters
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
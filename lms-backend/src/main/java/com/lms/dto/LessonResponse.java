@@ -30,6 +30,19 @@ public class LessonResponse {
         this.updatedAt = lesson.getUpdatedAt();
     }
 
+    // Used by the LessonRepository summary projection: content is never selected
+    public LessonResponse(Long id, String title, ContentType contentType, String contentUrl, Integer orderIndex,
+                          Long courseId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.contentType = contentType;
+        this.contentUrl = contentUrl;
+        this.orderIndex = orderIndex;
+        this.courseId = courseId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,140 @@
+package com.lms.dto;
+
+import com.lms.entity.ProgressFanoutJob;
+import com.lms.entity.ProgressFanoutStatus;
+
+import java.time.LocalDateTime;
+
+public class ProgressFanoutResponse {
+    private Long id;
+    private Long lessonId;
+    private Long courseId;
+    private ProgressFanoutStatus status;
+    private long enrollmentsScanned;
+    private long totalEnrollments;
+    private long rowsInserted;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public ProgressFanoutResponse() {}
+
+    public ProgressFanoutResponse(ProgressFanoutJob job, long totalEnrollments) {
+        this.id = job.getId();
+        this.lessonId = job.getLessonId();
+        this.courseId = job.getCourseId();
+        this.status = job.getStatus();
+        this.enrollmentsScanned = job.getEnrollmentsScanned();
+        this.totalEnrollments = totalEnrollments;
+        this.rowsInserted = job.getRowsInserted();
+        this.attempts = job.getAttempts();
+        this.lastError = job.getLastError();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+
+    public double getPercentage() {
+        if (status == ProgressFanoutStatus.COMPLETED || totalEnrollments == 0) return 100.0;
+        return Math.min(100.0, ((double) enrollmentsScanned / totalEnrollments) * 100);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public ProgressFanoutStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProgressFanoutStatus status) {
+        this.status = status;
+    }
+
+    public long getEnrollmentsScanned() {
+        return enrollmentsScanned;
+    }
+
+    public void setEnrollmentsScanned(long enrollmentsScanned) {
+        this.enrollmentsScanned = enrollmentsScanned;
+    }
+
+    public long getTotalEnrollments() {
+        return totalEnrollments;
+    }
+
+    public void setTotalEnrollments(long totalEnrollments) {
+        this.totalEnrollments = totalEnrollments;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public void setRowsInserted(long rowsInserted) {
+        this.rowsInserted = rowsInserted;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.lms.dto;
+
+import java.util.Objects;
+
+public class SuggestionResponse {
+    public static final String TYPE_COURSE = "COURSE";
+    public static final String TYPE_INSTRUCTOR = "INSTRUCTOR";
+
+    private String type;
+    private Long id;
+    private String text;
+
+    public SuggestionResponse() {}
+
+    public SuggestionResponse(String type, Long id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    // A suggestion is identified by what it points at, not by its display text
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SuggestionResponse that)) return false;
+        return Objects.equals(type, that.type) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id);
+    }
+}
@@ -3,6 +3,7 @@ package com.lms.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,7 +14,13 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses",
+       indexes = {
+           @Index(name = "idx_courses_status_enrollment_count", columnList = "status, enrollment_count"),
+           @Index(name = "idx_courses_created_at_id", columnList = "created_at, id"),
+           @Index(name = "idx_courses_status_created_at_id", columnList = "status, created_at, id"),
+           @Index(name = "idx_courses_instructor_created_at_id", columnList = "instructor_id, created_at, id")
+       })
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +45,21 @@ public class Course {
     @Column
     private String thumbnailUrl;
 
+    // Maintained only by in-database increments (CourseRepository.adjust*Count) and the
+    // CourseCounterReconciler, never written from the entity
+    @Column(name = "lesson_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer lessonCount = 0;
+
+    @Column(name = "enrollment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer enrollmentCount = 0;
+
+    // Next free Lesson.progressSlot, advanced only by ProgressSlotAllocator; null until the
+    // course hands out its first slot
+    @Column(name = "next_progress_slot", insertable = false, updatable = false)
+    private Integer nextProgressSlot;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -141,11 +163,27 @@ public class Course {
         this.enrollments = enrollments;
     }
 
+    public Integer getLessonCount() {
+        return lessonCount;
+    }
+
+    public void setLessonCount(Integer lessonCount) {
+        this.lessonCount = lessonCount;
+    }
+
+    public void setEnrollmentCount(Integer enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
     public int getTotalLessons() {
-        return lessons.size();
+        return lessonCount == null ? 0 : lessonCount;
     }
 
     public int getEnrollmentCount() {
-        return enrollments.size();
+        return enrollmentCount == null ? 0 : enrollmentCount;
+    }
+
+    public Integer getNextProgressSlot() {
+        return nextProgressSlot;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.lms.entity;
 
+import com.lms.progress.CompletionBitmap;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,7 +11,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "enrollments",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}),
+       indexes = {
+           @Index(name = "idx_enrollments_enrolled_at_id", columnList = "enrolled_at, id"),
+           @Index(name = "idx_enrollments_student_enrolled_at_id", columnList = "student_id, enrolled_at, id"),
+           @Index(name = "idx_enrollments_course_enrolled_at_id", columnList = "course_id, enrolled_at, id"),
+           @Index(name = "idx_enrollments_course_id", columnList = "course_id, id")
+       })
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +41,11 @@ public class Enrollment {
     @OneToMany(mappedBy = "enrollment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Progress> progresses = new HashSet<>();
 
+    // Completion bitmap written by the bitmap progress store; null when progress rows are used.
+    // BLOB (64 KB, stored off-row) rather than varbinary(65535), which exceeds MySQL's row size
+    @Column(name = "progress_bitmap", columnDefinition = "BLOB")
+    private byte[] progressBitmap;
+
     public Enrollment() {}
 
     public Enrollment(User student, Course course) {
@@ -90,7 +102,18 @@ public class Enrollment {
         this.progresses = progresses;
     }
 
+    public byte[] getProgressBitmap() {
+        return progressBitmap;
+    }
+
+    public void setProgressBitmap(byte[] progressBitmap) {
+        this.progressBitmap = progressBitmap;
+    }
+
     public int getCompletedLessons() {
+        if (progressBitmap != null) {
+            return CompletionBitmap.count(progressBitmap);
+        }
         return (int) progresses.stream().filter(Progress::getCompleted).count();
     }
 
@@ -1,5 +1,6 @@
 package com.lms.entity;
 
+import com.lms.util.GzipCodec;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +13,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "lessons")
+@Table(name = "lessons",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"course_id", "progress_slot"}))
 public class Lesson {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +28,14 @@ public class Lesson {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // Holds the body instead of content when LessonContentCodec stored it gzip-compressed
+    @Column(name = "content_gzip", length = 16777215)
+    private byte[] contentGzip;
+
+    // Decompressed body, inflated on first read
+    @Transient
+    private String inflatedContent;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private ContentType contentType;
@@ -41,6 +51,11 @@ public class Lesson {
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
+    // Stable bit index of the lesson in enrollment completion bitmaps; unlike orderIndex it
+    // never changes when lessons are reordered
+    @Column(name = "progress_slot")
+    private Integer progressSlot;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -79,11 +94,33 @@ public class Lesson {
     }
 
     public String getContent() {
+        if (content == null && contentGzip != null) {
+            if (inflatedContent == null) {
+                inflatedContent = GzipCodec.decompress(contentGzip);
+            }
+            return inflatedContent;
+        }
         return content;
     }
 
     public void setContent(String content) {
         this.content = content;
+        this.contentGzip = null;
+        this.inflatedContent = null;
+    }
+
+    public byte[] getContentGzip() {
+        return contentGzip;
+    }
+
+    public void setContentGzip(byte[] contentGzip) {
+        this.content = null;
+        this.contentGzip = contentGzip;
+        this.inflatedContent = null;
+    }
+
+    public boolean isContentCompressed() {
+        return contentGzip != null;
     }
 
     public ContentType getContentType() {
@@ -110,6 +147,14 @@ public class Lesson {
         this.orderIndex = orderIndex;
     }
 
+    public Integer getProgressSlot() {
+        return progressSlot;
+    }
+
+    public void setProgressSlot(Integer progressSlot) {
+        this.progressSlot = progressSlot;
+    }
+
     public Course getCourse() {
         return course;
     }
@@ -0,0 +1,164 @@
+package com.lms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background creation of progress rows for a lesson added to a course that already has
+ * enrollments. Enrollments are visited in id order; {@code lastEnrollmentId} is the keyset cursor
+ * and is committed together with each chunk of rows, so a job resumes after the last committed
+ * chunk.
+ */
+@Entity
+@Table(name = "progress_fanout_jobs",
+       indexes = @Index(name = "idx_progress_fanout_jobs_status", columnList = "status"))
+public class ProgressFanoutJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "lesson_id", nullable = false, unique = true)
+    private Long lessonId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ProgressFanoutStatus status = ProgressFanoutStatus.PENDING;
+
+    @Column(nullable = false)
+    private Long lastEnrollmentId = 0L;
+
+    @Column(nullable = false)
+    private Long enrollmentsScanned = 0L;
+
+    @Column(nullable = false)
+    private Long rowsInserted = 0L;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    public ProgressFanoutJob() {}
+
+    public ProgressFanoutJob(Long lessonId, Long courseId) {
+        this.lessonId = lessonId;
+        this.courseId = courseId;
+    }
+
+    public boolean isFinished() {
+        return status == ProgressFanoutStatus.COMPLETED || status == ProgressFanoutStatus.CANCELLED;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public ProgressFanoutStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProgressFanoutStatus status) {
+        this.status = status;
+    }
+
+    public Long getLastEnrollmentId() {
+        return lastEnrollmentId;
+    }
+
+    public void setLastEnrollmentId(Long lastEnrollmentId) {
+        this.lastEnrollmentId = lastEnrollmentId;
+    }
+
+    public Long getEnrollmentsScanned() {
+        return enrollmentsScanned;
+    }
+
+    public void setEnrollmentsScanned(Long enrollmentsScanned) {
+        this.enrollmentsScanned = enrollmentsScanned;
+    }
+
+    public Long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public void setRowsInserted(Long rowsInserted) {
+        this.rowsInserted = rowsInserted;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
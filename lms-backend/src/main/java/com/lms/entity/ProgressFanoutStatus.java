@@ -0,0 +1,9 @@
+package com.lms.entity;
+
+public enum ProgressFanoutStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -14,23 +14,30 @@ import java.util.Set;
 @Entity
 @Table(name = "users",
        uniqueConstraints = {
-           @UniqueConstraint(columnNames = "username"),
-           @UniqueConstraint(columnNames = "email")
+           @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+           @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email")
+       },
+       indexes = {
+           @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+           @Index(name = "idx_users_role_created_at_id", columnList = "role, created_at, id")
        })
 public class User {
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank
     @Size(max = 50)
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank
     @Size(max = 100)
     @Email
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank
@@ -55,6 +62,9 @@ public class User {
     @Column(columnDefinition = "boolean default true")
     private Boolean active = true;
 
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long securityEpoch = 0L;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -144,6 +154,14 @@ public class User {
         this.active = active;
     }
 
+    public Long getSecurityEpoch() {
+        return securityEpoch;
+    }
+
+    public void setSecurityEpoch(Long securityEpoch) {
+        this.securityEpoch = securityEpoch;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
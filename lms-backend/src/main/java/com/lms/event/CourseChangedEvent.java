@@ -0,0 +1,18 @@
+package com.lms.event;
+
+/**
+ * Published by CourseService whenever a course is created, edited, changes status or is
+ * deleted, and when its lessons are added, changed or removed. Listeners that mirror course
+ * data should react after the transaction commits.
+ */
+public class CourseChangedEvent {
+    private final Long courseId;
+
+    public CourseChangedEvent(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+}
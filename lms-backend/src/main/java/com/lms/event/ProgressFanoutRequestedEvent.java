@@ -0,0 +1,17 @@
+package com.lms.event;
+
+/**
+ * Published when a progress fan-out job has been recorded for a new lesson. The job row commits
+ * with the lesson, so listeners should start it after the transaction commits.
+ */
+public class ProgressFanoutRequestedEvent {
+    private final Long jobId;
+
+    public ProgressFanoutRequestedEvent(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.lms.event;
+
+/**
+ * Published by the bitmap progress store when a lesson holding a progress slot is deleted. The
+ * slot's bits are cleared from the course's enrollments after the transaction commits.
+ */
+public class ProgressSlotReleasedEvent {
+    private final Long courseId;
+    private final int slot;
+
+    public ProgressSlotReleasedEvent(Long courseId, int slot) {
+        this.courseId = courseId;
+        this.slot = slot;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+}
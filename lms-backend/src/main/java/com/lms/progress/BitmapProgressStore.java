@@ -0,0 +1,140 @@
+package com.lms.progress;
+
+import com.lms.dto.LessonProgressResponse;
+import com.lms.entity.Enrollment;
+import com.lms.entity.Lesson;
+import com.lms.event.ProgressSlotReleasedEvent;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Completion kept as a {@link CompletionBitmap} in {@code enrollments.progress_bitmap}, indexed
+ * by {@code Lesson.progressSlot}. Enrolling and adding lessons write nothing per lesson, and the
+ * completed count is a popcount. Updates lock the enrollment row so concurrent completions of
+ * different lessons do not overwrite each other.
+ */
+@Component
+@ConditionalOnProperty(name = "progress.store", havingValue = "bitmap")
+public class BitmapProgressStore implements ProgressStore {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private ProgressSlotAllocator progressSlotAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public byte[] initialBitmap() {
+        return CompletionBitmap.empty().toBytes();
+    }
+
+    @Override
+    public void initialize(Long enrollmentId, Long courseId) {
+        // The empty bitmap is written with the enrollment row
+    }
+
+    @Override
+    public void enrollmentRemoved(Enrollment enrollment) {
+        // The bitmap is deleted with the enrollment row
+    }
+
+    @Override
+    public void lessonAdded(Lesson lesson) {
+        // A new slot reads as incomplete in every existing bitmap
+    }
+
+    @Override
+    public void lessonRemoved(Lesson lesson) {
+        Integer slot = lesson.getProgressSlot();
+        if (slot == null) {
+            return;
+        }
+        // The slot is never handed out again, so no later lesson can inherit its bits; they are
+        // only stale completed counts, cleared after commit by ReleasedSlotCleaner
+        Long courseId = lesson.getCourse().getId();
+        progressSlotAllocator.startCounter(courseId);
+        eventPublisher.publishEvent(new ProgressSlotReleasedEvent(courseId, slot));
+    }
+
+    /** Clears the slot in the given enrollments' bitmaps; returns the number changed. */
+    @Transactional
+    public int clearSlot(List<Long> enrollmentIds, int slot) {
+        int cleared = 0;
+        for (Enrollment enrollment : enrollmentRepository.findAllById(enrollmentIds)) {
+            if (CompletionBitmap.fromBytes(enrollment.getProgressBitmap()).isCompleted(slot)) {
+                entityManager.refresh(enrollment, LockModeType.PESSIMISTIC_WRITE);
+                CompletionBitmap bitmap = CompletionBitmap.fromBytes(enrollment.getProgressBitmap());
+                bitmap.clear(slot);
+                enrollment.setProgressBitmap(bitmap.toBytes());
+                cleared++;
+            }
+        }
+        return cleared;
+    }
+
+    @Override
+    public LessonProgressResponse setCompleted(Enrollment enrollment, Lesson lesson, boolean completed) {
+        int slot = slotOf(lesson);
+        entityManager.refresh(enrollment, LockModeType.PESSIMISTIC_WRITE);
+        CompletionBitmap bitmap = CompletionBitmap.fromBytes(enrollment.getProgressBitmap());
+        if (completed) {
+            bitmap.complete(slot, LocalDateTime.now());
+        } else {
+            bitmap.clear(slot);
+        }
+        enrollment.setProgressBitmap(bitmap.toBytes());
+        return new LessonProgressResponse(lesson.getId(), bitmap.isCompleted(slot), bitmap.getCompletedAt(slot));
+    }
+
+    @Override
+    public Optional<LessonProgressResponse> getProgress(Enrollment enrollment, Lesson lesson) {
+        return Optional.of(progressOf(CompletionBitmap.fromBytes(enrollment.getProgressBitmap()),
+                lesson.getId(), lesson.getProgressSlot()));
+    }
+
+    @Override
+    public List<LessonProgressResponse> getProgress(Enrollment enrollment) {
+        CompletionBitmap bitmap = CompletionBitmap.fromBytes(enrollment.getProgressBitmap());
+        return lessonRepository.findSlotsByCourseId(enrollment.getCourse().getId()).stream()
+                .map(lesson -> progressOf(bitmap, lesson.getLessonId(), lesson.getSlot()))
+                .collect(Collectors.toList());
+    }
+
+    private static LessonProgressResponse progressOf(CompletionBitmap bitmap, Long lessonId, Integer slot) {
+        if (slot == null) {
+            return new LessonProgressResponse(lessonId, false, null);
+        }
+        return new LessonProgressResponse(lessonId, bitmap.isCompleted(slot), bitmap.getCompletedAt(slot));
+    }
+
+    // Lessons created before slots existed get one on their first completion
+    private int slotOf(Lesson lesson) {
+        if (lesson.getProgressSlot() == null) {
+            lesson.setProgressSlot(progressSlotAllocator.nextSlot(lesson.getCourse().getId()));
+            lessonRepository.saveAndFlush(lesson);
+        }
+        return lesson.getProgressSlot();
+    }
+}
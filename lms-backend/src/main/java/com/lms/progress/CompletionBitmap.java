@@ -0,0 +1,120 @@
+package com.lms.progress;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Lesson completion for one enrollment: a bitset indexed by lesson progress slot, plus the
+ * completion time of each set bit. Times are kept only for completed lessons, in slot order, so
+ * a row costs a bit per lesson and four bytes per completion.
+ *
+ * Serialized layout: word count (int), bitset words (long each), then one int of epoch seconds
+ * per set bit in ascending slot order.
+ */
+public class CompletionBitmap {
+
+    private final BitSet bits;
+    private int[] completedAt;
+
+    private CompletionBitmap(BitSet bits, int[] completedAt) {
+        this.bits = bits;
+        this.completedAt = completedAt;
+    }
+
+    public static CompletionBitmap empty() {
+        return new CompletionBitmap(new BitSet(), new int[0]);
+    }
+
+    public static CompletionBitmap fromBytes(byte[] data) {
+        if (data == null || data.length == 0) {
+            return empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        BitSet bits = BitSet.valueOf(words);
+        int[] completedAt = new int[bits.cardinality()];
+        for (int i = 0; i < completedAt.length; i++) {
+            completedAt[i] = buffer.getInt();
+        }
+        return new CompletionBitmap(bits, completedAt);
+    }
+
+    /** Number of completed lessons, read from the serialized words without decoding the times. */
+    public static int count(byte[] data) {
+        if (data == null || data.length == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int words = buffer.getInt();
+        int count = 0;
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(buffer.getLong());
+        }
+        return count;
+    }
+
+    public byte[] toBytes() {
+        long[] words = bits.toLongArray();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + words.length * 8 + completedAt.length * 4);
+        buffer.putInt(words.length);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        for (int seconds : completedAt) {
+            buffer.putInt(seconds);
+        }
+        return buffer.array();
+    }
+
+    public boolean isCompleted(int slot) {
+        return bits.get(slot);
+    }
+
+    public LocalDateTime getCompletedAt(int slot) {
+        if (!bits.get(slot)) {
+            return null;
+        }
+        long seconds = Integer.toUnsignedLong(completedAt[rank(slot)]);
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    /** Marks the slot completed; like a progress row, an existing completion keeps its original time. */
+    public void complete(int slot, LocalDateTime when) {
+        if (bits.get(slot)) {
+            return;
+        }
+        int rank = rank(slot);
+        int[] grown = new int[completedAt.length + 1];
+        System.arraycopy(completedAt, 0, grown, 0, rank);
+        System.arraycopy(completedAt, rank, grown, rank + 1, completedAt.length - rank);
+        grown[rank] = (int) when.toEpochSecond(ZoneOffset.UTC);
+        completedAt = grown;
+        bits.set(slot);
+    }
+
+    public void clear(int slot) {
+        if (!bits.get(slot)) {
+            return;
+        }
+        int rank = rank(slot);
+        int[] shrunk = Arrays.copyOf(completedAt, completedAt.length - 1);
+        System.arraycopy(completedAt, rank + 1, shrunk, rank, completedAt.length - rank - 1);
+        completedAt = shrunk;
+        bits.clear(slot);
+    }
+
+    public int cardinality() {
+        return bits.cardinality();
+    }
+
+    // Position of the slot's time among the set bits
+    private int rank(int slot) {
+        return slot == 0 ? 0 : bits.get(0, slot).cardinality();
+    }
+}
@@ -0,0 +1,20 @@
+package com.lms.progress;
+
+/** A lesson id with its progress slot; used by the LessonRepository projection. */
+public class LessonSlot {
+    private final Long lessonId;
+    private final Integer slot;
+
+    public LessonSlot(Long lessonId, Integer slot) {
+        this.lessonId = lessonId;
+        this.slot = slot;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+}
@@ -0,0 +1,31 @@
+package com.lms.progress;
+
+import com.lms.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out {@code Lesson.progressSlot} values from a per-course counter. The counter is advanced
+ * in the database, so the update serializes concurrent lesson creation on the course row and the
+ * following read sees this transaction's own value even under REPEATABLE READ, where a
+ * MAX(progress_slot) + 1 read could return a stale snapshot and collide on the unique key.
+ */
+@Component
+public class ProgressSlotAllocator {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    public int nextSlot(Long courseId) {
+        courseRepository.advanceNextProgressSlot(courseId);
+        return courseRepository.findNextProgressSlot(courseId) - 1;
+    }
+
+    /**
+     * Starts the counter of a course that predates it past the slots its lessons hold now, so a
+     * slot freed by deleting one of them is not handed out again. Call before the delete.
+     */
+    public void startCounter(Long courseId) {
+        courseRepository.startNextProgressSlot(courseId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.lms.progress;
+
+import com.lms.dto.LessonProgressResponse;
+import com.lms.entity.Enrollment;
+import com.lms.entity.Lesson;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where lesson completion is kept, selected with {@code progress.store}: {@code rows} (one
+ * {@code progress} row per enrollment and lesson) or {@code bitmap} (a completion bitmap on the
+ * enrollment). Stores do not migrate each other's data.
+ */
+public interface ProgressStore {
+
+    /** Value of {@code enrollments.progress_bitmap} for a new enrollment; null when rows are used. */
+    byte[] initialBitmap();
+
+    /** Called once a new enrollment has been inserted. */
+    void initialize(Long enrollmentId, Long courseId);
+
+    /** Called before an enrollment is deleted. */
+    void enrollmentRemoved(Enrollment enrollment);
+
+    /**
+     * Called when a lesson is added to a course that may already have enrollments. Work that grows
+     * with the enrollment count should be deferred rather than done in the caller's transaction.
+     */
+    void lessonAdded(Lesson lesson);
+
+    /** Called before a lesson is deleted. */
+    void lessonRemoved(Lesson lesson);
+
+    LessonProgressResponse setCompleted(Enrollment enrollment, Lesson lesson, boolean completed);
+
+    Optional<LessonProgressResponse> getProgress(Enrollment enrollment, Lesson lesson);
+
+    /** Progress for every lesson of the enrollment's course. */
+    List<LessonProgressResponse> getProgress(Enrollment enrollment);
+}
@@ -0,0 +1,76 @@
+package com.lms.progress;
+
+import com.lms.event.ProgressSlotReleasedEvent;
+import com.lms.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Clears a deleted lesson's slot from every enrollment bitmap of its course on a background
+ * thread, one chunk transaction at a time, so the lesson no longer counts as completed. Slots are
+ * never handed out again, so the bits are only stale counts, and a cleanup cut short by a restart
+ * leaves nothing a later lesson could inherit.
+ */
+@Component
+@ConditionalOnProperty(name = "progress.store", havingValue = "bitmap")
+public class ReleasedSlotCleaner implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReleasedSlotCleaner.class);
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private BitmapProgressStore bitmapProgressStore;
+
+    @Value("${progress.fanout.chunk-size:1000}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-slot-cleanup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @TransactionalEventListener
+    public void onSlotReleased(ProgressSlotReleasedEvent event) {
+        try {
+            executor.execute(() -> clear(event.getCourseId(), event.getSlot()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Progress slot {} of course {} not cleared: shutting down", event.getSlot(), event.getCourseId());
+        }
+    }
+
+    /** Clears the slot across the course on the calling thread; returns the bitmaps changed. */
+    public int clear(Long courseId, int slot) {
+        int cleared = 0;
+        Long afterId = 0L;
+        try {
+            List<Long> enrollmentIds;
+            while (!(enrollmentIds = enrollmentRepository.findIdsByCourseIdAfter(courseId, afterId,
+                    PageRequest.of(0, chunkSize))).isEmpty()) {
+                cleared += bitmapProgressStore.clearSlot(enrollmentIds, slot);
+                afterId = enrollmentIds.get(enrollmentIds.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Clearing progress slot {} of course {} stopped after enrollment {}", slot, courseId, afterId, e);
+        }
+        return cleared;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.lms.progress;
+
+import com.lms.dto.LessonProgressResponse;
+import com.lms.entity.Enrollment;
+import com.lms.entity.Lesson;
+import com.lms.entity.Progress;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.ProgressBatchRepository;
+import com.lms.repository.ProgressRepository;
+import com.lms.service.ProgressFanoutService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/** One {@code progress} row per enrollment and lesson, written up front in JDBC batches. */
+@Component
+@ConditionalOnProperty(name = "progress.store", havingValue = "rows", matchIfMissing = true)
+public class RowProgressStore implements ProgressStore {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressBatchRepository progressBatchRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private ProgressFanoutService progressFanoutService;
+
+    @Override
+    public byte[] initialBitmap() {
+        return null;
+    }
+
+    @Override
+    public void initialize(Long enrollmentId, Long courseId) {
+        progressBatchRepository.insertForEnrollment(enrollmentId, lessonRepository.findIdsByCourseId(courseId));
+    }
+
+    @Override
+    public void enrollmentRemoved(Enrollment enrollment) {
+        progressRepository.deleteByEnrollmentId(enrollment.getId());
+    }
+
+    @Override
+    public void lessonAdded(Lesson lesson) {
+        // One row per enrollment, written in chunks by a background job
+        progressFanoutService.enqueue(lesson);
+    }
+
+    @Override
+    public void lessonRemoved(Lesson lesson) {
+        // Rows go with the lesson through the progresses cascade
+    }
+
+    @Override
+    public LessonProgressResponse setCompleted(Enrollment enrollment, Lesson lesson, boolean completed) {
+        Progress progress = rowFor(enrollment, lesson);
+        progress.setCompleted(completed);
+        return new LessonProgressResponse(progressRepository.save(progress));
+    }
+
+    @Override
+    public Optional<LessonProgressResponse> getProgress(Enrollment enrollment, Lesson lesson) {
+        return Optional.of(new LessonProgressResponse(rowFor(enrollment, lesson)));
+    }
+
+    /**
+     * The enrollment's row for the lesson, created if the lesson's fan-out job has not reached it
+     * yet (or the enrollment committed behind the job). Creation happens under the enrollment row
+     * lock, so concurrent requests for the same enrollment do not both insert, and the locking
+     * read then sees a row committed after this transaction's snapshot. The job skips rows that
+     * already exist.
+     */
+    private Progress rowFor(Enrollment enrollment, Lesson lesson) {
+        Optional<Progress> progress = progressRepository.findByEnrollmentAndLesson(enrollment, lesson);
+        if (progress.isPresent()) {
+            return progress.get();
+        }
+        entityManager.lock(enrollment, LockModeType.PESSIMISTIC_WRITE);
+        return progressRepository.findForUpdate(enrollment.getId(), lesson.getId())
+                .orElseGet(() -> progressRepository.saveAndFlush(new Progress(enrollment, lesson)));
+    }
+
+    @Override
+    public List<LessonProgressResponse> getProgress(Enrollment enrollment) {
+        return enrollment.getProgresses().stream()
+                .map(LessonProgressResponse::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,14 +1,26 @@
 package com.lms.repository;
 
+import com.lms.dto.CourseResponse;
 import com.lms.entity.Course;
 import com.lms.entity.CourseStatus;
 import com.lms.entity.User;
+import com.lms.search.CourseFacetSource;
+import com.lms.search.CourseSearchDocument;
+import com.lms.search.CourseSuggestionSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -18,11 +30,124 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     Page<Course> findByInstructorAndStatus(User instructor, CourseStatus status, Pageable pageable);
 
-    @Query("SELECT c FROM Course c WHERE c.status = 'PUBLISHED' AND " +
-           "(LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Course> findPublishedCoursesWithKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // Course page: the instructor comes back joined in the same statement
+    @EntityGraph(attributePaths = {"instructor"})
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findDetailById(@Param("id") Long id);
+
+    // Page projections: one statement per page (plus the count query) instead of loading the
+    // instructor and both collections for every row
+    String COURSE_SUMMARY = "SELECT new com.lms.dto.CourseResponse(c.id, c.title, c.description, " +
+            "CONCAT(i.firstName, ' ', i.lastName), i.id, c.status, c.thumbnailUrl, " +
+            "c.lessonCount, c.enrollmentCount, c.createdAt, c.updatedAt) " +
+            "FROM Course c JOIN c.instructor i ";
+
+    @Query(value = COURSE_SUMMARY,
+           countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseResponse> findAllSummaries(Pageable pageable);
+
+    @Query(value = COURSE_SUMMARY + "WHERE c.status = :status",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.status = :status")
+    Page<CourseResponse> findSummariesByStatus(@Param("status") CourseStatus status, Pageable pageable);
+
+    @Query(value = COURSE_SUMMARY + "WHERE i.id = :instructorId",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.instructor.id = :instructorId")
+    Page<CourseResponse> findSummariesByInstructorId(@Param("instructorId") Long instructorId, Pageable pageable);
+
+    // Keyset pagination: rows strictly after (createdAt, id) in descending order, no count query
+    String COURSE_SEEK = "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(COURSE_SUMMARY + "WHERE " + COURSE_SEEK)
+    List<CourseResponse> scrollSummaries(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                         Pageable window);
+
+    @Query(COURSE_SUMMARY + "WHERE c.status = :status AND " + COURSE_SEEK)
+    List<CourseResponse> scrollSummariesByStatus(@Param("status") CourseStatus status,
+                                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                 Pageable window);
+
+    @Query(COURSE_SUMMARY + "WHERE i.id = :instructorId AND " + COURSE_SEEK)
+    List<CourseResponse> scrollSummariesByInstructorId(@Param("instructorId") Long instructorId,
+                                                       @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                       Pageable window);
+
+    @Query(COURSE_SUMMARY + "WHERE c.id IN :ids")
+    List<CourseResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.lms.search.CourseSearchDocument(c.id, c.title, c.description) " +
+           "FROM Course c WHERE c.status = :status")
+    List<CourseSearchDocument> findSearchDocuments(@Param("status") CourseStatus status);
+
+    @Query("SELECT new com.lms.search.CourseSearchDocument(c.id, c.title, c.description) " +
+           "FROM Course c WHERE c.id = :id AND c.status = :status")
+    Optional<CourseSearchDocument> findSearchDocumentById(@Param("id") Long id, @Param("status") CourseStatus status);
+
+    String SUGGESTION_SOURCE = "SELECT new com.lms.search.CourseSuggestionSource(c.id, c.title, i.id, " +
+            "CONCAT(i.firstName, ' ', i.lastName), c.enrollmentCount) FROM Course c JOIN c.instructor i ";
+
+    @Query(SUGGESTION_SOURCE + "WHERE c.status = :status")
+    List<CourseSuggestionSource> findSuggestionSources(@Param("status") CourseStatus status);
+
+    @Query(SUGGESTION_SOURCE + "WHERE c.id = :id AND c.status = :status")
+    Optional<CourseSuggestionSource> findSuggestionSourceById(@Param("id") Long id, @Param("status") CourseStatus status);
+
+    String FACET_SOURCE = "SELECT new com.lms.search.CourseFacetSource(c.id, c.status, i.id, " +
+            "CONCAT(i.firstName, ' ', i.lastName), c.lessonCount, c.createdAt) FROM Course c JOIN c.instructor i ";
+
+    @Query(FACET_SOURCE)
+    List<CourseFacetSource> findFacetSources();
+
+    @Query(FACET_SOURCE + "WHERE c.id = :id")
+    Optional<CourseFacetSource> findFacetSourceById(@Param("id") Long id);
 
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
     int countEnrollmentsByCourseId(@Param("courseId") Long courseId);
+
+    // Counter columns are changed in the database, never read-modify-write, so concurrent
+    // enrollments cannot lose updates
+    @Modifying
+    @Query("UPDATE Course c SET c.lessonCount = c.lessonCount + :delta WHERE c.id = :courseId")
+    int adjustLessonCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = c.enrollmentCount + :delta WHERE c.id = :courseId")
+    int adjustEnrollmentCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    // Checks the status and takes the course row's exclusive lock in one statement, before the
+    // enrollment insert; 0 when the course is missing or in another status
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Course c SET c.enrollmentCount = c.enrollmentCount + 1 " +
+           "WHERE c.id = :courseId AND c.status = :status")
+    int incrementEnrollmentCountIfStatus(@Param("courseId") Long courseId, @Param("status") CourseStatus status);
+
+    // Takes the course row lock for the rest of the transaction; courses that predate the counter
+    // start after the highest slot their lessons already hold
+    @Modifying
+    @Query("UPDATE Course c SET c.nextProgressSlot = COALESCE(c.nextProgressSlot, " +
+           "(SELECT MAX(l.progressSlot) + 1 FROM Lesson l WHERE l.course.id = c.id), 0) + 1 " +
+           "WHERE c.id = :courseId")
+    int advanceNextProgressSlot(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.nextProgressSlot = COALESCE(" +
+           "(SELECT MAX(l.progressSlot) + 1 FROM Lesson l WHERE l.course.id = c.id), 0) " +
+           "WHERE c.id = :courseId AND c.nextProgressSlot IS NULL")
+    int startNextProgressSlot(@Param("courseId") Long courseId);
+
+    @Query("SELECT c.nextProgressSlot FROM Course c WHERE c.id = :courseId")
+    Integer findNextProgressSlot(@Param("courseId") Long courseId);
+
+    @Query("SELECT MAX(c.id) FROM Course c")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET " +
+           "c.lessonCount = (SELECT COUNT(l) FROM Lesson l WHERE l.course.id = c.id), " +
+           "c.enrollmentCount = (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+           "WHERE c.id BETWEEN :fromId AND :toId AND (" +
+           "c.lessonCount <> (SELECT COUNT(l) FROM Lesson l WHERE l.course.id = c.id) OR " +
+           "c.enrollmentCount <> (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id))")
+    int reconcileCounters(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
\ No newline at end of file
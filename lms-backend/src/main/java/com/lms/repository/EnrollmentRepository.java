@@ -1,15 +1,21 @@
 package com.lms.repository;
 
+import com.lms.dto.EnrollmentResponse;
 import com.lms.entity.Course;
 import com.lms.entity.Enrollment;
 import com.lms.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,12 +24,86 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     boolean existsByStudentAndCourse(User student, Course course);
 
-    Page<Enrollment> findByStudent(User student, Pageable pageable);
+    // Enrollment with its progress rows in one statement, for the course page
+    @EntityGraph(attributePaths = {"progresses"})
+    @Query("SELECT e FROM Enrollment e WHERE e.student.id = :studentId AND e.course.id = :courseId")
+    Optional<Enrollment> findWithProgressesByStudentIdAndCourseId(@Param("studentId") Long studentId,
+                                                                  @Param("courseId") Long courseId);
 
-    Page<Enrollment> findByCourse(Course course, Pageable pageable);
+    List<Enrollment> findByCourseId(Long courseId);
 
-    @Query("SELECT e FROM Enrollment e WHERE e.course.instructor.id = :instructorId")
-    Page<Enrollment> findByInstructorId(@Param("instructorId") Long instructorId, Pageable pageable);
+    @Query("SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    boolean existsByCourseId(Long courseId);
+
+    // Response projections: student and course fields joined and completed lessons counted in
+    // the same statement, one per page (plus the count query) whatever the page size. The count
+    // is a correlated subquery over the (enrollment_id, lesson_id) key rather than a join plus
+    // GROUP BY, so wide columns such as the progress bitmap are selected as-is, never grouped on
+    String ENROLLMENT_SUMMARY = "SELECT new com.lms.dto.EnrollmentResponse(e.id, s.id, s.firstName, s.lastName, " +
+            "s.email, s.username, c.id, c.title, c.lessonCount, " +
+            "(SELECT COUNT(p) FROM Progress p WHERE p.enrollment = e AND p.completed = true), " +
+            "e.progressBitmap, e.enrolledAt) " +
+            "FROM Enrollment e JOIN e.student s JOIN e.course c ";
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE e.id = :id")
+    Optional<EnrollmentResponse> findSummaryById(@Param("id") Long id);
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE s.id = :studentId AND c.id = :courseId")
+    Optional<EnrollmentResponse> findSummaryByStudentIdAndCourseId(@Param("studentId") Long studentId,
+                                                                   @Param("courseId") Long courseId);
+
+    // Same lookup from a fresh snapshot, for a row another transaction committed after the
+    // caller's REPEATABLE READ snapshot was taken
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query(ENROLLMENT_SUMMARY + "WHERE s.id = :studentId AND c.id = :courseId")
+    Optional<EnrollmentResponse> findCommittedSummaryByStudentIdAndCourseId(@Param("studentId") Long studentId,
+                                                                            @Param("courseId") Long courseId);
+
+    @Query(value = ENROLLMENT_SUMMARY,
+           countQuery = "SELECT COUNT(e) FROM Enrollment e")
+    Page<EnrollmentResponse> findAllSummaries(Pageable pageable);
+
+    @Query(value = ENROLLMENT_SUMMARY + "WHERE s.id = :studentId",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
+    Page<EnrollmentResponse> findSummariesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query(value = ENROLLMENT_SUMMARY + "WHERE c.id = :courseId",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
+    Page<EnrollmentResponse> findSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Query(value = ENROLLMENT_SUMMARY + "WHERE c.instructor.id = :instructorId",
+           countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.instructor.id = :instructorId")
+    Page<EnrollmentResponse> findSummariesByInstructorId(@Param("instructorId") Long instructorId, Pageable pageable);
+
+    // Keyset walk over a course's enrollments in id order, for chunked background work
+    @Query("SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsByCourseIdAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId,
+                                      Pageable window);
+
+    // Keyset pagination: rows strictly after (enrolledAt, id) in descending order, no count query
+    String ENROLLMENT_SEEK = "(e.enrolledAt < :enrolledAt OR (e.enrolledAt = :enrolledAt AND e.id < :id))";
+    String ENROLLMENT_SEEK_ORDER = " ORDER BY e.enrolledAt DESC, e.id DESC";
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE " + ENROLLMENT_SEEK + ENROLLMENT_SEEK_ORDER)
+    List<EnrollmentResponse> scrollSummaries(@Param("enrolledAt") LocalDateTime enrolledAt, @Param("id") Long id,
+                                             Pageable window);
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE s.id = :studentId AND " + ENROLLMENT_SEEK + ENROLLMENT_SEEK_ORDER)
+    List<EnrollmentResponse> scrollSummariesByStudentId(@Param("studentId") Long studentId,
+                                                        @Param("enrolledAt") LocalDateTime enrolledAt, @Param("id") Long id,
+                                                        Pageable window);
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE c.id = :courseId AND " + ENROLLMENT_SEEK + ENROLLMENT_SEEK_ORDER)
+    List<EnrollmentResponse> scrollSummariesByCourseId(@Param("courseId") Long courseId,
+                                                       @Param("enrolledAt") LocalDateTime enrolledAt, @Param("id") Long id,
+                                                       Pageable window);
+
+    @Query(ENROLLMENT_SUMMARY + "WHERE c.instructor.id = :instructorId AND " + ENROLLMENT_SEEK + ENROLLMENT_SEEK_ORDER)
+    List<EnrollmentResponse> scrollSummariesByInstructorId(@Param("instructorId") Long instructorId,
+                                                           @Param("enrolledAt") LocalDateTime enrolledAt, @Param("id") Long id,
+                                                           Pageable window);
 
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
     int countByStudentId(@Param("studentId") Long studentId);
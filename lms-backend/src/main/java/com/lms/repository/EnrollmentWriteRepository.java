@@ -0,0 +1,58 @@
+package com.lms.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * Plain enrollment insert. A second enrollment of the same student surfaces as a
+ * {@code DuplicateKeyException} from the {@code (student_id, course_id)} unique constraint instead
+ * of being looked up first. The course is not read here: callers take the course row lock first
+ * (see {@link CourseRepository#incrementEnrollmentCountIfStatus}), since an INSERT ... SELECT
+ * would hold a shared lock on it that the counter update could then deadlock trying to upgrade.
+ * Like {@link ProgressBatchRepository}, the row is written behind the persistence context, so
+ * pending entity changes are flushed first.
+ */
+@Repository
+public class EnrollmentWriteRepository {
+
+    private static final String INSERT =
+            "INSERT INTO enrollments (student_id, course_id, enrolled_at, updated_at, progress_bitmap) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Id of the new enrollment. */
+    public Long insert(Long studentId, Long courseId, byte[] progressBitmap) {
+        entityManager.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT, new String[] {"id"});
+            ps.setLong(1, studentId);
+            ps.setLong(2, courseId);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+            if (progressBitmap == null) {
+                ps.setNull(5, Types.BLOB);
+            } else {
+                ps.setBytes(5, progressBitmap);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
@@ -1,13 +1,20 @@
 package com.lms.repository;
 
+import com.lms.dto.LessonResponse;
+import com.lms.entity.ContentType;
 import com.lms.entity.Course;
 import com.lms.entity.Lesson;
+import com.lms.progress.LessonSlot;
+import com.lms.search.CourseContentType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
@@ -15,6 +22,33 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
 
     List<Lesson> findByCourseIdOrderByOrderIndexAsc(Long courseId);
 
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.orderIndex ASC")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    // Curriculum listing without the TEXT content column
+    @Query("SELECT new com.lms.dto.LessonResponse(l.id, l.title, l.contentType, l.contentUrl, l.orderIndex, " +
+           "l.course.id, l.createdAt, l.updatedAt) FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.orderIndex ASC")
+    List<LessonResponse> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    // Lets a conditional content request be answered without reading the content
+    @Query("SELECT COALESCE(l.updatedAt, l.createdAt) FROM Lesson l WHERE l.id = :id AND l.course.id = :courseId")
+    Optional<LocalDateTime> findVersionByIdAndCourseId(@Param("id") Long id, @Param("courseId") Long courseId);
+
+    Optional<Lesson> findByIdAndCourseId(Long id, Long courseId);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.id > :afterId AND l.content IS NOT NULL ORDER BY l.id")
+    List<Long> findInlineContentIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT new com.lms.search.CourseContentType(l.course.id, l.contentType) FROM Lesson l")
+    List<CourseContentType> findCourseContentTypes();
+
+    @Query("SELECT DISTINCT l.contentType FROM Lesson l WHERE l.course.id = :courseId")
+    List<ContentType> findContentTypesByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.lms.progress.LessonSlot(l.id, l.progressSlot) FROM Lesson l " +
+           "WHERE l.course.id = :courseId ORDER BY l.orderIndex ASC")
+    List<LessonSlot> findSlotsByCourseId(@Param("courseId") Long courseId);
+
     @Query("SELECT MAX(l.orderIndex) FROM Lesson l WHERE l.course.id = :courseId")
     Integer findMaxOrderIndexByCourseId(@Param("courseId") Long courseId);
 
@@ -0,0 +1,63 @@
+package com.lms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk creation of incomplete progress rows. {@code Progress} ids are IDENTITY-generated, which
+ * stops Hibernate from batching inserts, so these go through a JDBC batch instead: one round-trip
+ * per batch (a single multi-row INSERT on MySQL with {@code rewriteBatchedStatements=true}).
+ * Rows are written behind the persistence context, so loaded {@code progresses} collections do
+ * not see them.
+ */
+@Repository
+public class ProgressBatchRepository {
+
+    private static final String INSERT_PROGRESS =
+            "INSERT INTO progress (enrollment_id, lesson_id, completed, created_at, updated_at) VALUES (?, ?, false, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${progress.insert-batch-size:500}")
+    private int batchSize;
+
+    /** One row per lesson for a new enrollment. */
+    public int insertForEnrollment(Long enrollmentId, List<Long> lessonIds) {
+        List<long[]> rows = new ArrayList<>(lessonIds.size());
+        for (Long lessonId : lessonIds) {
+            rows.add(new long[] {enrollmentId, lessonId});
+        }
+        return insert(rows);
+    }
+
+    /** One row per enrollment for a lesson added to a course. */
+    public int insertForLesson(Long lessonId, List<Long> enrollmentIds) {
+        List<long[]> rows = new ArrayList<>(enrollmentIds.size());
+        for (Long enrollmentId : enrollmentIds) {
+            rows.add(new long[] {enrollmentId, lessonId});
+        }
+        return insert(rows);
+    }
+
+    private int insert(List<long[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PROGRESS, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        });
+        return rows.size();
+    }
+}
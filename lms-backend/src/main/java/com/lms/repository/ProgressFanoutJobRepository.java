@@ -0,0 +1,31 @@
+package com.lms.repository;
+
+import com.lms.entity.ProgressFanoutJob;
+import com.lms.entity.ProgressFanoutStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProgressFanoutJobRepository extends JpaRepository<ProgressFanoutJob, Long> {
+    Optional<ProgressFanoutJob> findByLessonId(Long lessonId);
+
+    List<ProgressFanoutJob> findByStatusInOrderByIdAsc(Collection<ProgressFanoutStatus> statuses);
+
+    // Serializes chunks of the same job, including across application instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ProgressFanoutJob j WHERE j.id = :id")
+    Optional<ProgressFanoutJob> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT j.id FROM ProgressFanoutJob j WHERE j.status IN :active " +
+           "OR (j.status = com.lms.entity.ProgressFanoutStatus.FAILED AND j.attempts < :maxAttempts) ORDER BY j.id")
+    List<Long> findResumableIds(@Param("active") Collection<ProgressFanoutStatus> active,
+                                @Param("maxAttempts") int maxAttempts);
+}
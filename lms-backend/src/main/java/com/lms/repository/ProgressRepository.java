@@ -3,11 +3,15 @@ package com.lms.repository;
 import com.lms.entity.Enrollment;
 import com.lms.entity.Lesson;
 import com.lms.entity.Progress;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +19,11 @@ import java.util.Optional;
 public interface ProgressRepository extends JpaRepository<Progress, Long> {
     Optional<Progress> findByEnrollmentAndLesson(Enrollment enrollment, Lesson lesson);
 
+    // Locking read: sees a row committed after the caller's snapshot was taken
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Progress p WHERE p.enrollment.id = :enrollmentId AND p.lesson.id = :lessonId")
+    Optional<Progress> findForUpdate(@Param("enrollmentId") Long enrollmentId, @Param("lessonId") Long lessonId);
+
     List<Progress> findByEnrollment(Enrollment enrollment);
 
     List<Progress> findByEnrollmentAndCompleted(Enrollment enrollment, Boolean completed);
@@ -22,6 +31,16 @@ public interface ProgressRepository extends JpaRepository<Progress, Long> {
     @Query("SELECT COUNT(p) FROM Progress p WHERE p.enrollment.id = :enrollmentId AND p.completed = true")
     int countCompletedProgressByEnrollmentId(@Param("enrollmentId") Long enrollmentId);
 
+    // Progress rows are created behind the persistence context (ProgressBatchRepository), so the
+    // enrollment's progresses collection cannot be relied on to cascade their removal
+    @Modifying
+    @Query("DELETE FROM Progress p WHERE p.enrollment.id = :enrollmentId")
+    int deleteByEnrollmentId(@Param("enrollmentId") Long enrollmentId);
+
+    @Query("SELECT p.enrollment.id FROM Progress p WHERE p.lesson.id = :lessonId AND p.enrollment.id IN :enrollmentIds")
+    List<Long> findEnrollmentIdsByLessonId(@Param("lessonId") Long lessonId,
+                                           @Param("enrollmentIds") Collection<Long> enrollmentIds);
+
     @Query("SELECT p FROM Progress p WHERE p.enrollment.student.id = :studentId AND p.lesson.course.id = :courseId")
     List<Progress> findByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
 }
\ No newline at end of file
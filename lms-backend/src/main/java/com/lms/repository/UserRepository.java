@@ -5,8 +5,15 @@ import com.lms.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,7 +26,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
+    // Committed rows other than the given user (null for a new one); run in a transaction of
+    // their own because they are only needed after a failed flush has spoiled the caller's session
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.username = :username AND (:id IS NULL OR u.id <> :id)")
+    boolean existsOtherByUsername(@Param("username") String username, @Param("id") Long id);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.email = :email AND (:id IS NULL OR u.id <> :id)")
+    boolean existsOtherByEmail(@Param("email") String email, @Param("id") Long id);
+
+    @Query("SELECT u.username FROM User u")
+    List<String> findAllUsernames();
+
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+
     Page<User> findByRole(Role role, Pageable pageable);
 
     Page<User> findByActiveTrue(Pageable pageable);
+
+    // Keyset pagination: rows strictly after (createdAt, id) in descending order, no count query
+    String USER_SEEK = "(u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+            "ORDER BY u.createdAt DESC, u.id DESC";
+
+    @Query("SELECT u FROM User u WHERE " + USER_SEEK)
+    List<User> scrollAll(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable window);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND " + USER_SEEK)
+    List<User> scrollByRole(@Param("role") Role role, @Param("createdAt") LocalDateTime createdAt,
+                            @Param("id") Long id, Pageable window);
+
+    @Query("SELECT u FROM User u WHERE u.active = true AND " + USER_SEEK)
+    List<User> scrollActive(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable window);
+
+    @Query("SELECT u.securityEpoch FROM User u WHERE u.id = :id AND u.active = true")
+    Optional<Long> findActiveSecurityEpochById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
\ No newline at end of file
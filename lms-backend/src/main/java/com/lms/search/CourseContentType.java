@@ -0,0 +1,24 @@
+package com.lms.search;
+
+import com.lms.entity.ContentType;
+
+/**
+ * One (course, lesson content type) pair, used to build the content-type facet in a single query.
+ */
+public class CourseContentType {
+    private final Long courseId;
+    private final ContentType contentType;
+
+    public CourseContentType(Long courseId, ContentType contentType) {
+        this.courseId = courseId;
+        this.contentType = contentType;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+}
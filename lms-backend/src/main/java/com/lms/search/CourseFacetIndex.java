@@ -0,0 +1,115 @@
+package com.lms.search;
+
+import com.lms.entity.ContentType;
+import com.lms.event.CourseChangedEvent;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.LessonRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Facet bitmaps over every course for catalog browsing: status, instructor, lesson content
+ * types, lesson-count bucket and creation month. Built from the database at startup and kept
+ * current from {@link CourseChangedEvent}s, which CourseService also publishes when a course's
+ * lessons change; a periodic rebuild picks up writes made on other instances.
+ */
+@Component
+public class CourseFacetIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CourseFacetIndex.class);
+
+    public static final String STATUS = "status";
+    public static final String INSTRUCTOR = "instructor";
+    public static final String CONTENT_TYPE = "contentType";
+    public static final String LESSONS = "lessons";
+    public static final String MONTH = "month";
+
+    /** Largest page a browse request returns; larger sizes are clamped. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Lesson-count buckets in display order. */
+    public static final List<String> LESSON_BUCKETS = List.of("0", "1-5", "6-10", "11-20", "21+");
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    private volatile FacetBitmaps bitmaps = new FacetBitmaps();
+    private final Map<Long, String> instructorNames = new ConcurrentHashMap<>();
+
+    public FacetResult browse(Map<String, Set<String>> selection, int offset, int limit) {
+        return bitmaps.query(selection, offset, limit);
+    }
+
+    public String instructorName(Long instructorId) {
+        return instructorNames.get(instructorId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        FacetBitmaps current = bitmaps;
+        courseRepository.findFacetSourceById(event.getCourseId()).ifPresentOrElse(
+                source -> current.put(source.getCourseId(),
+                        facetValues(source, lessonRepository.findContentTypesByCourseId(source.getCourseId()))),
+                () -> current.remove(event.getCourseId()));
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${search.facets.rebuild-ms:3600000}",
+               fixedDelayString = "${search.facets.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        Map<Long, List<ContentType>> contentTypes = lessonRepository.findCourseContentTypes().stream()
+                .collect(Collectors.groupingBy(CourseContentType::getCourseId,
+                        Collectors.mapping(CourseContentType::getContentType, Collectors.toList())));
+
+        List<CourseFacetSource> sources = courseRepository.findFacetSources();
+        FacetBitmaps rebuilt = new FacetBitmaps();
+        sources.forEach(source -> rebuilt.put(source.getCourseId(),
+                facetValues(source, contentTypes.getOrDefault(source.getCourseId(), List.of()))));
+        bitmaps = rebuilt;
+        logger.debug("Rebuilt course facet index with {} courses", sources.size());
+    }
+
+    private Map<String, Set<String>> facetValues(CourseFacetSource source, Collection<ContentType> contentTypes) {
+        instructorNames.put(source.getInstructorId(), source.getInstructorName());
+
+        Map<String, Set<String>> values = new LinkedHashMap<>();
+        values.put(STATUS, Set.of(source.getStatus().name()));
+        values.put(INSTRUCTOR, Set.of(source.getInstructorId().toString()));
+        values.put(CONTENT_TYPE, contentTypes.stream().map(Enum::name).collect(Collectors.toCollection(TreeSet::new)));
+        values.put(LESSONS, Set.of(lessonBucket(source.getLessonCount())));
+        if (source.getCreatedAt() != null) {
+            values.put(MONTH, Set.of(YearMonth.from(source.getCreatedAt()).toString()));
+        }
+        return values;
+    }
+
+    static String lessonBucket(int lessonCount) {
+        if (lessonCount == 0) {
+            return "0";
+        } else if (lessonCount <= 5) {
+            return "1-5";
+        } else if (lessonCount <= 10) {
+            return "6-10";
+        } else if (lessonCount <= 20) {
+            return "11-20";
+        }
+        return "21+";
+    }
+}
@@ -0,0 +1,51 @@
+package com.lms.search;
+
+import com.lms.entity.CourseStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a course that feed the facet bitmaps, loaded by a constructor projection.
+ */
+public class CourseFacetSource {
+    private final Long courseId;
+    private final CourseStatus status;
+    private final Long instructorId;
+    private final String instructorName;
+    private final Integer lessonCount;
+    private final LocalDateTime createdAt;
+
+    public CourseFacetSource(Long courseId, CourseStatus status, Long instructorId, String instructorName,
+                             Integer lessonCount, LocalDateTime createdAt) {
+        this.courseId = courseId;
+        this.status = status;
+        this.instructorId = instructorId;
+        this.instructorName = instructorName;
+        this.lessonCount = lessonCount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public CourseStatus getStatus() {
+        return status;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public int getLessonCount() {
+        return lessonCount == null ? 0 : lessonCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
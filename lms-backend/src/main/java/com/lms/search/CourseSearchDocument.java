@@ -0,0 +1,28 @@
+package com.lms.search;
+
+/**
+ * The fields of a course that the search index needs, loaded by a constructor projection.
+ */
+public class CourseSearchDocument {
+    private final Long id;
+    private final String title;
+    private final String description;
+
+    public CourseSearchDocument(Long id, String title, String description) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
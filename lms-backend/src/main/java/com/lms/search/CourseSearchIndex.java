@@ -0,0 +1,73 @@
+package com.lms.search;
+
+import com.lms.entity.CourseStatus;
+import com.lms.event.CourseChangedEvent;
+import com.lms.repository.CourseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * In-memory full-text index over published courses, serving /api/courses/public/search without
+ * touching the courses table. Built from the database at startup, kept current from
+ * {@link CourseChangedEvent}s once their transaction commits, and rebuilt periodically to
+ * compact dropped document ordinals and pick up changes made on other instances.
+ */
+@Component
+public class CourseSearchIndex implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private Timer searchTimer;
+
+    public SearchHits search(String query, int offset, int limit, boolean fuzzy) {
+        if (searchTimer == null) {
+            return index.search(query, offset, limit, fuzzy);
+        }
+        return searchTimer.record(() -> index.search(query, offset, limit, fuzzy));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        courseRepository.findSearchDocumentById(event.getCourseId(), CourseStatus.PUBLISHED).ifPresentOrElse(
+                document -> index.upsert(document.getId(), document.getTitle(), document.getDescription()),
+                () -> index.remove(event.getCourseId()));
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${search.rebuild-ms:3600000}",
+               fixedDelayString = "${search.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        List<CourseSearchDocument> documents = courseRepository.findSearchDocuments(CourseStatus.PUBLISHED);
+        InvertedIndex rebuilt = new InvertedIndex();
+        documents.forEach(document -> rebuilt.upsert(document.getId(), document.getTitle(), document.getDescription()));
+        index = rebuilt;
+        logger.info("Rebuilt course search index with {} courses and {} terms",
+                rebuilt.documentCount(), rebuilt.termCount());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        searchTimer = Timer.builder("courses.search")
+                .description("Latency of in-memory course searches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder("courses.search.documents", this, search -> search.index.documentCount())
+                .register(registry);
+        Gauge.builder("courses.search.terms", this, search -> search.index.termCount())
+                .register(registry);
+    }
+}
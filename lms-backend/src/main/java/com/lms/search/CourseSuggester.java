@@ -0,0 +1,192 @@
+package com.lms.search;
+
+import com.lms.dto.SuggestionResponse;
+import com.lms.entity.CourseStatus;
+import com.lms.event.CourseChangedEvent;
+import com.lms.repository.CourseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typeahead over published course titles and instructor names. Every word start of a title or
+ * name is a key in a {@link PrefixTrie}, so "boot" finds "Intro to Spring Boot"; courses are
+ * weighted by enrollment count and instructors by the enrollments across their published courses.
+ *
+ * Status changes and edits arrive as {@link CourseChangedEvent}s after commit. Enrollment counts
+ * move far more often than that, so weights are refreshed by a periodic rebuild instead.
+ */
+@Component
+public class CourseSuggester implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(CourseSuggester.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final int maxSuggestions;
+    private volatile State state;
+    private Timer suggestTimer;
+
+    public CourseSuggester(@Value("${search.suggest.max-results:10}") int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+        this.state = new State(maxSuggestions);
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int capped = Math.min(Math.max(limit, 1), maxSuggestions);
+        if (suggestTimer == null) {
+            return state.trie.lookup(normalized, capped);
+        }
+        return suggestTimer.record(() -> state.trie.lookup(normalized, capped));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCourseChanged(CourseChangedEvent event) {
+        State current = state;
+        current.removeCourse(event.getCourseId());
+        courseRepository.findSuggestionSourceById(event.getCourseId(), CourseStatus.PUBLISHED)
+                .ifPresent(current::addCourse);
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${search.suggest.rebuild-ms:300000}",
+               fixedDelayString = "${search.suggest.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        List<CourseSuggestionSource> sources = courseRepository.findSuggestionSources(CourseStatus.PUBLISHED);
+        State rebuilt = new State(maxSuggestions);
+        sources.forEach(rebuilt::addCourse);
+        state = rebuilt;
+        logger.debug("Rebuilt course suggestions with {} courses and {} instructors",
+                rebuilt.courses.size(), rebuilt.instructors.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        suggestTimer = Timer.builder("courses.suggest")
+                .description("Latency of typeahead lookups")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /** Every suffix of the normalized text that starts at a word boundary. */
+    static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    /** One generation of the trie together with what was put into it, so entries can be taken out again. */
+    private static final class State {
+        private final PrefixTrie<SuggestionResponse> trie;
+        private final Map<Long, CourseSuggestionSource> courses = new HashMap<>();
+        private final Map<Long, InstructorEntry> instructors = new HashMap<>();
+
+        private State(int maxSuggestions) {
+            this.trie = new PrefixTrie<>(maxSuggestions);
+        }
+
+        private void addCourse(CourseSuggestionSource source) {
+            courses.put(source.getCourseId(), source);
+            SuggestionResponse suggestion = new SuggestionResponse(
+                    SuggestionResponse.TYPE_COURSE, source.getCourseId(), source.getTitle());
+            keys(source.getTitle()).forEach(key -> trie.insert(key, suggestion, source.getEnrollmentCount()));
+
+            InstructorEntry instructor = instructors.computeIfAbsent(source.getInstructorId(), id -> new InstructorEntry());
+            unindex(source.getInstructorId(), instructor);
+            instructor.name = source.getInstructorName();
+            instructor.enrollmentsByCourse.put(source.getCourseId(), source.getEnrollmentCount());
+            index(source.getInstructorId(), instructor);
+        }
+
+        private void removeCourse(Long courseId) {
+            CourseSuggestionSource source = courses.remove(courseId);
+            if (source == null) {
+                return;
+            }
+            SuggestionResponse suggestion = new SuggestionResponse(SuggestionResponse.TYPE_COURSE, courseId, source.getTitle());
+            keys(source.getTitle()).forEach(key -> trie.remove(key, suggestion));
+
+            InstructorEntry instructor = instructors.get(source.getInstructorId());
+            unindex(source.getInstructorId(), instructor);
+            instructor.enrollmentsByCourse.remove(courseId);
+            if (instructor.enrollmentsByCourse.isEmpty()) {
+                instructors.remove(source.getInstructorId());
+            } else {
+                index(source.getInstructorId(), instructor);
+            }
+        }
+
+        private void index(Long instructorId, InstructorEntry instructor) {
+            SuggestionResponse suggestion = new SuggestionResponse(
+                    SuggestionResponse.TYPE_INSTRUCTOR, instructorId, instructor.name);
+            long weight = instructor.totalEnrollments();
+            keys(instructor.name).forEach(key -> trie.insert(key, suggestion, weight));
+        }
+
+        private void unindex(Long instructorId, InstructorEntry instructor) {
+            if (instructor.name == null) {
+                return;
+            }
+            SuggestionResponse suggestion = new SuggestionResponse(
+                    SuggestionResponse.TYPE_INSTRUCTOR, instructorId, instructor.name);
+            keys(instructor.name).forEach(key -> trie.remove(key, suggestion));
+        }
+    }
+
+    private static final class InstructorEntry {
+        private String name;
+        private final Map<Long, Integer> enrollmentsByCourse = new HashMap<>();
+
+        private long totalEnrollments() {
+            long total = 0;
+            for (int count : enrollmentsByCourse.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lms.search;
+
+/**
+ * The fields of a published course that feed the typeahead trie, loaded by a constructor
+ * projection.
+ */
+public class CourseSuggestionSource {
+    private final Long courseId;
+    private final String title;
+    private final Long instructorId;
+    private final String instructorName;
+    private final Integer enrollmentCount;
+
+    public CourseSuggestionSource(Long courseId, String title, Long instructorId, String instructorName,
+                                  Integer enrollmentCount) {
+        this.courseId = courseId;
+        this.title = title;
+        this.instructorId = instructorId;
+        this.instructorName = instructorName;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public int getEnrollmentCount() {
+        return enrollmentCount == null ? 0 : enrollmentCount;
+    }
+}
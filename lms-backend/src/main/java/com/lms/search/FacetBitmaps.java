@@ -0,0 +1,132 @@
+package com.lms.search;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One compressed bitmap of course ids per (facet, value). A selection ORs the bitmaps of the
+ * chosen values within a facet and ANDs across facets; a facet's counts are taken against the
+ * selection on every other facet, so choosing one value does not hide its siblings. Course ids
+ * are used directly as bitmap positions, which keeps the Roaring containers dense.
+ */
+public class FacetBitmaps {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, Map<String, RoaringBitmap>> bitmaps = new LinkedHashMap<>();
+    private final Map<Integer, Map<String, Set<String>>> valuesByCourse = new HashMap<>();
+
+    public void put(long courseId, Map<String, Set<String>> values) {
+        int position = Math.toIntExact(courseId);
+        lock.writeLock().lock();
+        try {
+            removeLocked(position);
+            values.forEach((facet, facetValues) -> facetValues.forEach(value ->
+                    bitmaps.computeIfAbsent(facet, key -> new TreeMap<>())
+                            .computeIfAbsent(value, key -> new RoaringBitmap())
+                            .add(position)));
+            valuesByCourse.put(position, values);
+            all.add(position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(courseId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetResult query(Map<String, Set<String>> selection, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> unions = new HashMap<>();
+            selection.forEach((facet, values) -> {
+                if (values == null || values.isEmpty()) {
+                    return;
+                }
+                Map<String, RoaringBitmap> facetBitmaps = bitmaps.getOrDefault(facet, Collections.emptyMap());
+                RoaringBitmap union = new RoaringBitmap();
+                values.forEach(value -> {
+                    RoaringBitmap bitmap = facetBitmaps.get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                });
+                unions.put(facet, union);
+            });
+
+            RoaringBitmap matches = intersect(unions, null);
+
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            bitmaps.forEach((facet, facetBitmaps) -> {
+                RoaringBitmap context = intersect(unions, facet);
+                Map<String, Long> facetCounts = new LinkedHashMap<>();
+                facetBitmaps.forEach((value, bitmap) -> {
+                    long count = RoaringBitmap.andCardinality(bitmap, context);
+                    if (count > 0) {
+                        facetCounts.put(value, count);
+                    }
+                });
+                counts.put(facet, facetCounts);
+            });
+
+            // Course ids grow with creation time, so descending ids list the newest first
+            List<Long> page = new ArrayList<>((int) Math.min(limit, matches.getLongCardinality()));
+            IntIterator iterator = matches.getReverseIntIterator();
+            int skipped = 0;
+            while (iterator.hasNext() && page.size() < limit) {
+                int position = iterator.next();
+                if (skipped++ >= offset) {
+                    page.add((long) position);
+                }
+            }
+            return new FacetResult(page, matches.getLongCardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> unions, String excludedFacet) {
+        RoaringBitmap result = all;
+        for (Map.Entry<String, RoaringBitmap> union : unions.entrySet()) {
+            if (!union.getKey().equals(excludedFacet)) {
+                result = RoaringBitmap.and(result, union.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void removeLocked(int position) {
+        Map<String, Set<String>> previous = valuesByCourse.remove(position);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((facet, values) -> {
+            Map<String, RoaringBitmap> facetBitmaps = bitmaps.get(facet);
+            values.forEach(value -> {
+                RoaringBitmap bitmap = facetBitmaps.get(value);
+                bitmap.remove(position);
+                if (bitmap.isEmpty()) {
+                    facetBitmaps.remove(value);
+                }
+            });
+        });
+        all.remove(position);
+    }
+}
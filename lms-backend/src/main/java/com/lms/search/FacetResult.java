@@ -0,0 +1,32 @@
+package com.lms.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of course ids matching a facet selection (newest first), the total match count, and
+ * per facet the count of each value under the selection on all other facets.
+ */
+public class FacetResult {
+    private final List<Long> courseIds;
+    private final long totalHits;
+    private final Map<String, Map<String, Long>> counts;
+
+    public FacetResult(List<Long> courseIds, long totalHits, Map<String, Map<String, Long>> counts) {
+        this.courseIds = courseIds;
+        this.totalHits = totalHits;
+        this.counts = counts;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public Map<String, Map<String, Long>> getCounts() {
+        return counts;
+    }
+}
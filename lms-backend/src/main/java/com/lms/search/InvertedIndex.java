@@ -0,0 +1,287 @@
+package com.lms.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Term to posting-list index over course titles and descriptions, ranked with Okapi BM25.
+ *
+ * Every indexed version of a course gets a fresh document ordinal, so posting lists stay sorted
+ * by plain appends; the ordinal of a replaced or removed course is dropped from its postings and
+ * simply never reused. Readers share a read lock, writers take the write lock.
+ *
+ * In fuzzy mode, query tokens that are not in the vocabulary are replaced by the indexed terms
+ * within a small edit distance (see {@link TrigramIndex}), each scored at 1 / (1 + distance) of
+ * an exact match so closer spellings rank first.
+ */
+public class InvertedIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+
+    // Title tokens count this many times towards term frequency and document length
+    static final int TITLE_WEIGHT = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByCourseId = new HashMap<>();
+    private final TrigramIndex vocabulary = new TrigramIndex();
+
+    private long[] courseIdByDoc = new long[64];
+    private int[] lengthByDoc = new int[64];
+    private String[][] termsByDoc = new String[64][];
+    private int nextDoc;
+    private int liveDocs;
+    private long totalLength;
+
+    public void upsert(long courseId, String title, String description) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            termFreqs.merge(token, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String token : Tokenizer.tokenize(description)) {
+            termFreqs.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(courseId);
+            if (termFreqs.isEmpty()) {
+                return;
+            }
+
+            int doc = nextDoc++;
+            ensureCapacity(doc);
+            courseIdByDoc[doc] = courseId;
+            lengthByDoc[doc] = length;
+            termsByDoc[doc] = termFreqs.keySet().toArray(new String[0]);
+            termFreqs.forEach((term, freq) -> {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    list = new PostingList();
+                    postings.put(term, list);
+                    vocabulary.add(term);
+                }
+                list.append(doc, freq);
+            });
+            docByCourseId.put(courseId, doc);
+            liveDocs++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        return search(query, offset, limit, false);
+    }
+
+    public SearchHits search(String query, int offset, int limit, boolean fuzzy) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (tokens.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return new SearchHits(Collections.emptyList(), 0);
+            }
+
+            // Term to score multiplier; a misspelling can expand into several terms
+            Map<String, Float> terms = new HashMap<>();
+            for (String token : tokens) {
+                if (!fuzzy || postings.containsKey(token)) {
+                    terms.put(token, 1f);
+                    continue;
+                }
+                for (TrigramIndex.Match match : vocabulary.match(token, maxEdits(token))) {
+                    terms.merge(match.term, 1f / (1 + match.distance), Math::max);
+                }
+            }
+
+            float averageLength = (float) totalLength / liveDocs;
+            float[] scores = new float[nextDoc];
+            int[] matched = new int[Math.min(nextDoc, 64)];
+            int matchCount = 0;
+
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                PostingList list = postings.get(term.getKey());
+                if (list == null) {
+                    continue;
+                }
+                float idf = term.getValue()
+                        * (float) Math.log(1 + (liveDocs - list.size() + 0.5) / (list.size() + 0.5));
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = list.doc(i);
+                    int freq = list.freq(i);
+                    float norm = freq * (K1 + 1) / (freq + K1 * (1 - B + B * lengthByDoc[doc] / averageLength));
+                    if (scores[doc] == 0) {
+                        if (matchCount == matched.length) {
+                            matched = Arrays.copyOf(matched, Math.min(nextDoc, matchCount * 2));
+                        }
+                        matched[matchCount++] = doc;
+                    }
+                    scores[doc] += idf * norm;
+                }
+            }
+
+            int[] top = topDocs(matched, matchCount, scores, offset + limit);
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < top.length; i++) {
+                page.add(courseIdByDoc[top[i]]);
+            }
+            return new SearchHits(page, matchCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The best {@code k} of the matched documents in rank order, selected with a bounded min-heap
+     * so only the requested window is ever sorted. Ties go to the newer course.
+     */
+    private int[] topDocs(int[] matched, int matchCount, float[] scores, int k) {
+        int size = Math.min(k, matchCount);
+        if (size <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[size];
+        int heapSize = 0;
+        for (int i = 0; i < matchCount; i++) {
+            int doc = matched[i];
+            if (heapSize < size) {
+                heap[heapSize] = doc;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksAbove(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        // Draining the min-heap yields the worst first, so fill the result from the back
+        int[] ranked = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            ranked[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        return ranked;
+    }
+
+    private boolean ranksAbove(int doc, int other, float[] scores) {
+        int byScore = Float.compare(scores[doc], scores[other]);
+        return byScore != 0 ? byScore > 0 : courseIdByDoc[doc] > courseIdByDoc[other];
+    }
+
+    private void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!ranksAbove(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksAbove(heap[smallest], heap[left], scores)) {
+                smallest = left;
+            }
+            if (right < size && ranksAbove(heap[smallest], heap[right], scores)) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(heap, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    /** Edits tolerated for a token: none for very short words, at most two for long ones. */
+    static int maxEdits(String token) {
+        if (token.length() <= 2) {
+            return 0;
+        }
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    private void removeLocked(long courseId) {
+        Integer doc = docByCourseId.remove(courseId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : termsByDoc[doc]) {
+            PostingList list = postings.get(term);
+            list.remove(doc);
+            if (list.size() == 0) {
+                postings.remove(term);
+                vocabulary.remove(term);
+            }
+        }
+        termsByDoc[doc] = null;
+        liveDocs--;
+        totalLength -= lengthByDoc[doc];
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc < courseIdByDoc.length) {
+            return;
+        }
+        int capacity = courseIdByDoc.length * 2;
+        courseIdByDoc = Arrays.copyOf(courseIdByDoc, capacity);
+        lengthByDoc = Arrays.copyOf(lengthByDoc, capacity);
+        termsByDoc = Arrays.copyOf(termsByDoc, capacity);
+    }
+}
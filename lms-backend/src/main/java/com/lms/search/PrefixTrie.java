@@ -0,0 +1,198 @@
+package com.lms.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed (radix) prefix trie from normalized keys to weighted values. Every node caches the
+ * top {@code topK} values of its subtree by weight, so a lookup is a walk down at most
+ * {@code prefix.length()} characters followed by a copy of a precomputed list, independent of
+ * how many keys share the prefix. Writers recompute the cached lists along the changed path.
+ */
+public class PrefixTrie<V> {
+
+    private final int topK;
+    private final Comparator<Weighted<V>> byWeight =
+            Comparator.<Weighted<V>>comparingLong(weighted -> weighted.weight).reversed();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node<V> root = new Node<>("");
+
+    public PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public void insert(String key, V value, long weight) {
+        Weighted<V> entry = new Weighted<>(value, weight);
+        lock.writeLock().lock();
+        try {
+            List<Node<V>> path = new ArrayList<>();
+            Node<V> node = root;
+            path.add(node);
+            int i = 0;
+            while (i < key.length()) {
+                Node<V> child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node<>(key.substring(i));
+                    node.children.put(key.charAt(i), child);
+                    node = child;
+                    path.add(node);
+                    break;
+                }
+
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    Node<V> split = new Node<>(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    split.children.put(child.label.charAt(0), child);
+                    split.top = child.top;
+                    node.children.put(split.label.charAt(0), split);
+                    child = split;
+                }
+                node = child;
+                path.add(node);
+                i += common;
+            }
+            node.values.removeIf(existing -> existing.value.equals(value));
+            node.values.add(entry);
+            recompute(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key, V value) {
+        lock.writeLock().lock();
+        try {
+            List<Node<V>> path = findPath(key);
+            if (path == null) {
+                return;
+            }
+            Node<V> node = path.get(path.size() - 1);
+            node.values.removeIf(existing -> existing.value.equals(value));
+
+            // Prune branches that no longer lead to any value
+            for (int depth = path.size() - 1; depth > 0; depth--) {
+                Node<V> current = path.get(depth);
+                if (!current.values.isEmpty() || !current.children.isEmpty()) {
+                    break;
+                }
+                path.get(depth - 1).children.remove(current.label.charAt(0));
+                path.remove(depth);
+            }
+            recompute(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Highest-weighted values stored under any key starting with {@code prefix}, at most
+     * {@code limit} (capped at the trie's topK).
+     */
+    public List<V> lookup(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node<V> node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                Node<V> child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefixLength(child.label, prefix, i);
+                if (common < child.label.length() && i + common < prefix.length()) {
+                    return Collections.emptyList();
+                }
+                node = child;
+                i += common;
+            }
+
+            List<V> result = new ArrayList<>(Math.min(limit, node.top.size()));
+            for (int k = 0; k < node.top.size() && result.size() < limit; k++) {
+                result.add(node.top.get(k).value);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Node<V>> findPath(String key) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<V> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            i += child.label.length();
+        }
+        return path;
+    }
+
+    private void recompute(List<Node<V>> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node<V> node = path.get(depth);
+            List<Weighted<V>> candidates = new ArrayList<>(node.values);
+            for (Node<V> child : node.children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(byWeight);
+
+            // The same value may be stored under several keys of one subtree
+            Set<V> seen = new HashSet<>();
+            List<Weighted<V>> top = new ArrayList<>(topK);
+            for (Weighted<V> candidate : candidates) {
+                if (top.size() == topK) {
+                    break;
+                }
+                if (seen.add(candidate.value)) {
+                    top.add(candidate);
+                }
+            }
+            node.top = top;
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node<V> {
+        private String label;
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+        private final List<Weighted<V>> values = new ArrayList<>(1);
+        private List<Weighted<V>> top = Collections.emptyList();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Weighted<V> {
+        private final V value;
+        private final long weight;
+
+        private Weighted(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.lms.search;
+
+import java.util.List;
+
+/**
+ * One page of course ids in rank order, plus the total number of matching courses.
+ */
+public class SearchHits {
+    private final List<Long> courseIds;
+    private final long totalHits;
+
+    public SearchHits(List<Long> courseIds, long totalHits) {
+        this.courseIds = courseIds;
+        this.totalHits = totalHits;
+    }
+
+    public List<Long> getCourseIds() {
+        return courseIds;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lms.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Character trigram index over the vocabulary of an {@link InvertedIndex}, used to find the
+ * indexed terms within a small edit distance of a misspelled query token.
+ *
+ * Terms are padded with two boundary markers on each side, so a term of length n has n + 2
+ * trigrams and any two terms within edit distance k share at least max(n, m) + 2 - 3k of them
+ * (the q-gram lemma). Candidates that pass that count and the length filter are verified with a
+ * Levenshtein computation that gives up as soon as the distance exceeds k.
+ * Not thread-safe; {@link InvertedIndex} guards access.
+ */
+final class TrigramIndex {
+
+    private static final char PAD = '\u0002';
+
+    // Posting lists of term ids per trigram; the frequency slot is unused
+    private final Map<String, PostingList> termsByTrigram = new HashMap<>();
+    private final Map<String, Integer> idByTerm = new HashMap<>();
+    private String[] termById = new String[256];
+    private int nextId;
+
+    void add(String term) {
+        if (idByTerm.containsKey(term)) {
+            return;
+        }
+        int id = nextId++;
+        if (id == termById.length) {
+            termById = Arrays.copyOf(termById, id * 2);
+        }
+        termById[id] = term;
+        idByTerm.put(term, id);
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new PostingList()).append(id, 1);
+        }
+    }
+
+    void remove(String term) {
+        Integer id = idByTerm.remove(term);
+        if (id == null) {
+            return;
+        }
+        termById[id] = null;
+        for (String trigram : trigrams(term)) {
+            PostingList list = termsByTrigram.get(trigram);
+            list.remove(id);
+            if (list.size() == 0) {
+                termsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Indexed terms within {@code maxDistance} edits of {@code token}, each paired with its
+     * distance, closest first.
+     */
+    List<Match> match(String token, int maxDistance) {
+        Set<String> grams = trigrams(token);
+        int[] shared = new int[nextId];
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        for (String gram : grams) {
+            PostingList list = termsByTrigram.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int id = list.doc(i);
+                if (shared[id]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = id;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            String term = termById[id];
+            if (Math.abs(term.length() - token.length()) > maxDistance) {
+                continue;
+            }
+            int required = Math.max(term.length(), token.length()) + 2 - 3 * maxDistance;
+            if (shared[id] < required) {
+                continue;
+            }
+            int distance = boundedLevenshtein(token, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(term, distance));
+            }
+        }
+        matches.sort((left, right) -> Integer.compare(left.distance, right.distance));
+        return matches;
+    }
+
+    int size() {
+        return idByTerm.size();
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD + PAD;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /** Levenshtein distance, or {@code maxDistance + 1} once it is known to exceed the bound. */
+    static int boundedLevenshtein(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    static final class Match {
+        final String term;
+        final int distance;
+
+        Match(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.lms.service;
+
+import com.lms.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs drift in the denormalized {@code courses.lesson_count} and {@code enrollment_count}
+ * columns (e.g. rows changed outside the services, or data that predates the columns). Walks the
+ * table in id ranges, each range a single UPDATE in its own transaction that only touches rows
+ * whose counters disagree with the real counts.
+ */
+@Component
+public class CourseCounterReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(CourseCounterReconciler.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${course-counters.reconcile-batch-size:1000}")
+    private long batchSize;
+
+    @Scheduled(initialDelayString = "${course-counters.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${course-counters.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        Long maxId = courseRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+
+        int repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            repaired += courseRepository.reconcileCounters(fromId, fromId + batchSize - 1);
+        }
+
+        if (repaired > 0) {
+            logger.warn("Repaired lesson/enrollment counters on {} courses", repaired);
+        }
+        return repaired;
+    }
+}
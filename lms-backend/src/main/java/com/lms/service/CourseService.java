@@ -1,21 +1,48 @@
 package com.lms.service;
 
 import com.lms.dto.AdminCourseRequest;
+import com.lms.dto.CourseBrowseResponse;
+import com.lms.dto.CourseDetailResponse;
 import com.lms.dto.CourseRequest;
 import com.lms.dto.CourseResponse;
+import com.lms.dto.CursorPage;
+import com.lms.dto.FacetValueResponse;
 import com.lms.entity.Course;
 import com.lms.entity.CourseStatus;
 import com.lms.entity.Role;
 import com.lms.entity.User;
 import com.lms.exception.BadRequestException;
+import com.lms.event.CourseChangedEvent;
 import com.lms.exception.ResourceNotFoundException;
+import com.lms.progress.ProgressStore;
 import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.search.CourseFacetIndex;
+import com.lms.search.CourseSearchIndex;
+import com.lms.search.FacetResult;
+import com.lms.search.SearchHits;
+import com.lms.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class CourseService {
@@ -23,9 +50,27 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private ProgressStore progressStore;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseFacetIndex courseFacetIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public CourseResponse createCourse(CourseRequest courseRequest, Long instructorId) {
         User instructor = userService.findById(instructorId);
 
@@ -42,6 +87,7 @@ public class CourseService {
         course.setStatus(CourseStatus.PUBLISHED); // Auto-approve new courses
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId()));
         return new CourseResponse(savedCourse);
     }
 
@@ -61,6 +107,7 @@ public class CourseService {
         course.setStatus(CourseStatus.PUBLISHED); // Auto-approve new courses
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId()));
         return new CourseResponse(savedCourse);
     }
 
@@ -73,7 +120,7 @@ public class CourseService {
 
         // Allow updates for published courses since all new courses are auto-published
         // Only prevent updates if course has enrollments to maintain data integrity
-        if (course.getStatus() == CourseStatus.PUBLISHED && !course.getEnrollments().isEmpty()) {
+        if (course.getStatus() == CourseStatus.PUBLISHED && course.getEnrollmentCount() > 0) {
             throw new BadRequestException("Cannot update published courses with active enrollments");
         }
 
@@ -82,9 +129,27 @@ public class CourseService {
         course.setThumbnailUrl(courseRequest.getThumbnailUrl());
 
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return new CourseResponse(updatedCourse);
     }
 
+    public void adjustLessonCount(Long courseId, int delta) {
+        courseRepository.adjustLessonCount(courseId, delta);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    public void lessonsChanged(Long courseId) {
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
+    }
+
+    public void adjustEnrollmentCount(Long courseId, int delta) {
+        courseRepository.adjustEnrollmentCount(courseId, delta);
+    }
+
+    public boolean incrementEnrollmentCountIfPublished(Long courseId) {
+        return courseRepository.incrementEnrollmentCountIfStatus(courseId, CourseStatus.PUBLISHED) > 0;
+    }
+
     public Course findById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
@@ -95,33 +160,144 @@ public class CourseService {
         return new CourseResponse(course);
     }
 
+    /**
+     * The course page in a fixed number of statements: the course with its instructor, the lesson
+     * summaries (content is fetched per lesson), and, when a student id is given, their enrollment
+     * with its progress rows.
+     */
+    @Transactional(readOnly = true)
+    public CourseDetailResponse getCourseDetail(Long id, Long studentId) {
+        Course course = courseRepository.findDetailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
+        CourseDetailResponse detail = new CourseDetailResponse(new CourseResponse(course),
+                lessonRepository.findSummariesByCourseId(id));
+
+        if (studentId != null) {
+            enrollmentRepository.findWithProgressesByStudentIdAndCourseId(studentId, id).ifPresent(enrollment -> {
+                detail.setEnrolled(true);
+                detail.setEnrollmentId(enrollment.getId());
+                detail.setCompletedLessons(enrollment.getCompletedLessons());
+                detail.setProgressPercentage(enrollment.getProgressPercentage());
+                detail.setProgress(progressStore.getProgress(enrollment));
+            });
+        }
+        return detail;
+    }
+
     public Page<CourseResponse> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable)
-                .map(CourseResponse::new);
+        return courseRepository.findAllSummaries(pageable);
     }
 
     public Page<CourseResponse> getPublishedCourses(Pageable pageable) {
-        return courseRepository.findByStatus(CourseStatus.PUBLISHED, pageable)
-                .map(CourseResponse::new);
+        return courseRepository.findSummariesByStatus(CourseStatus.PUBLISHED, pageable);
     }
 
     public Page<CourseResponse> getCoursesByInstructor(Long instructorId, Pageable pageable) {
         User instructor = userService.findById(instructorId);
-        return courseRepository.findByInstructor(instructor, pageable)
-                .map(CourseResponse::new);
+        return courseRepository.findSummariesByInstructorId(instructor.getId(), pageable);
+    }
+
+    public CursorPage<CourseResponse> scrollPublishedCourses(String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(courseRepository.scrollSummariesByStatus(CourseStatus.PUBLISHED,
+                        after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), CourseService::cursorOf);
+    }
+
+    public CursorPage<CourseResponse> scrollAllCourses(String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(courseRepository.scrollSummaries(after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), CourseService::cursorOf);
+    }
+
+    public CursorPage<CourseResponse> scrollCoursesByInstructor(Long instructorId, String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(courseRepository.scrollSummariesByInstructorId(instructorId,
+                        after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), CourseService::cursorOf);
+    }
+
+    private static String cursorOf(CourseResponse course) {
+        return CursorCodec.encode(course.getCreatedAt(), course.getId());
     }
 
     public Page<CourseResponse> getCoursesByStatus(CourseStatus status, Pageable pageable) {
-        return courseRepository.findByStatus(status, pageable)
-                .map(CourseResponse::new);
+        return courseRepository.findSummariesByStatus(status, pageable);
     }
 
     public Page<CourseResponse> searchCourses(String keyword, Pageable pageable) {
+        return searchCourses(keyword, false, pageable);
+    }
+
+    /**
+     * Ranks matches in memory with {@link CourseSearchIndex}, then loads just the requested page
+     * of summaries by primary key and returns them in rank order. A search that finds nothing is
+     * retried once with typo tolerance, so a misspelled query still returns the likely courses.
+     */
+    public Page<CourseResponse> searchCourses(String keyword, boolean fuzzy, Pageable pageable) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getPublishedCourses(pageable);
         }
-        return courseRepository.findPublishedCoursesWithKeyword(keyword.trim(), pageable)
-                .map(CourseResponse::new);
+
+        int offset = (int) pageable.getOffset();
+        SearchHits hits = courseSearchIndex.search(keyword, offset, pageable.getPageSize(), fuzzy);
+        if (!fuzzy && hits.getTotalHits() == 0) {
+            hits = courseSearchIndex.search(keyword, offset, pageable.getPageSize(), true);
+        }
+        return new PageImpl<>(summariesInOrder(hits.getCourseIds()), pageable, hits.getTotalHits());
+    }
+
+    /**
+     * Filters and counts with the in-memory facet bitmaps; only the requested page of summaries
+     * is loaded from the database. The public catalog is pinned to published courses and does not
+     * expose the status facet.
+     */
+    public CourseBrowseResponse browseCourses(Map<String, Set<String>> selection, boolean publishedOnly,
+                                              Pageable pageable) {
+        Map<String, Set<String>> effective = new HashMap<>(selection);
+        if (publishedOnly) {
+            effective.put(CourseFacetIndex.STATUS, Set.of(CourseStatus.PUBLISHED.name()));
+        }
+
+        if (pageable.getOffset() > Integer.MAX_VALUE) {
+            throw new BadRequestException("Page is out of range");
+        }
+        FacetResult result = courseFacetIndex.browse(effective, (int) pageable.getOffset(), pageable.getPageSize());
+        Page<CourseResponse> page = new PageImpl<>(summariesInOrder(result.getCourseIds()), pageable, result.getTotalHits());
+
+        Map<String, List<FacetValueResponse>> facets = new LinkedHashMap<>();
+        result.getCounts().forEach((facet, counts) -> {
+            if (publishedOnly && facet.equals(CourseFacetIndex.STATUS)) {
+                return;
+            }
+            List<FacetValueResponse> values = new ArrayList<>();
+            counts.forEach((value, count) -> values.add(new FacetValueResponse(value, facetLabel(facet, value), count)));
+            if (facet.equals(CourseFacetIndex.LESSONS)) {
+                values.sort(Comparator.comparingInt(value -> CourseFacetIndex.LESSON_BUCKETS.indexOf(value.getValue())));
+            }
+            facets.put(facet, values);
+        });
+        return new CourseBrowseResponse(page, facets);
+    }
+
+    private String facetLabel(String facet, String value) {
+        if (facet.equals(CourseFacetIndex.INSTRUCTOR)) {
+            String name = courseFacetIndex.instructorName(Long.valueOf(value));
+            return name != null ? name : value;
+        }
+        return value;
+    }
+
+    private List<CourseResponse> summariesInOrder(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, CourseResponse> summaries = courseRepository.findSummariesByIdIn(courseIds).stream()
+                .collect(Collectors.toMap(CourseResponse::getId, Function.identity()));
+        return courseIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     public CourseResponse submitForApproval(Long courseId, Long instructorId) {
@@ -148,6 +324,7 @@ public class CourseService {
         // Auto-approve instead of setting to pending
         course.setStatus(CourseStatus.PUBLISHED);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return new CourseResponse(updatedCourse);
     }
 
@@ -160,6 +337,7 @@ public class CourseService {
 
         course.setStatus(CourseStatus.PUBLISHED);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return new CourseResponse(updatedCourse);
     }
 
@@ -172,6 +350,7 @@ public class CourseService {
 
         course.setStatus(CourseStatus.REJECTED);
         Course updatedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
         return new CourseResponse(updatedCourse);
     }
 
@@ -182,15 +361,17 @@ public class CourseService {
             throw new BadRequestException("You can only delete your own courses");
         }
 
-        if (course.getStatus() == CourseStatus.PUBLISHED && !course.getEnrollments().isEmpty()) {
+        if (course.getStatus() == CourseStatus.PUBLISHED && course.getEnrollmentCount() > 0) {
             throw new BadRequestException("Cannot delete published courses with enrollments");
         }
 
         courseRepository.delete(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 
     public void adminDeleteCourse(Long courseId) {
         Course course = findById(courseId);
         courseRepository.delete(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.dto.EnrollmentResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Responses of enroll requests that carried an {@code Idempotency-Key}, per student and key. A
+ * retry with the same key gets the original response back without touching the database, even if
+ * the student has unenrolled since. Entries are only added once the enrollment has committed.
+ */
+@Component
+public class EnrollmentIdempotencyCache implements MeterBinder {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, EnrollmentResponse> responses;
+
+    public EnrollmentIdempotencyCache(@Value("${enrollments.idempotency.maximum-size:100000}") long maximumSize,
+                                      @Value("${enrollments.idempotency.expire-after-write:PT24H}") Duration expireAfterWrite) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<EnrollmentResponse> get(Long studentId, String idempotencyKey) {
+        return Optional.ofNullable(responses.getIfPresent(cacheKey(studentId, idempotencyKey)));
+    }
+
+    public void put(Long studentId, String idempotencyKey, EnrollmentResponse response) {
+        String key = cacheKey(studentId, idempotencyKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.put(key, response);
+                }
+            });
+        } else {
+            responses.put(key, response);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "enrollments.idempotency");
+    }
+
+    private static String cacheKey(Long studentId, String idempotencyKey) {
+        return studentId + ":" + idempotencyKey;
+    }
+}
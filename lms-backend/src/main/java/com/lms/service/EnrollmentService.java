@@ -1,18 +1,23 @@
 package com.lms.service;
 
+import com.lms.dto.CursorPage;
 import com.lms.dto.EnrollmentResponse;
 import com.lms.entity.*;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
+import com.lms.progress.ProgressStore;
 import com.lms.repository.EnrollmentRepository;
-import com.lms.repository.ProgressRepository;
+import com.lms.repository.EnrollmentWriteRepository;
+import com.lms.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @Transactional
@@ -22,7 +27,13 @@ public class EnrollmentService {
     private EnrollmentRepository enrollmentRepository;
 
     @Autowired
-    private ProgressRepository progressRepository;
+    private EnrollmentWriteRepository enrollmentWriteRepository;
+
+    @Autowired
+    private EnrollmentIdempotencyCache idempotencyCache;
+
+    @Autowired
+    private ProgressStore progressStore;
 
     @Autowired
     private UserService userService;
@@ -31,36 +42,66 @@ public class EnrollmentService {
     private CourseService courseService;
 
     public EnrollmentResponse enrollStudent(Long courseId, Long studentId) {
-        User student = userService.findById(studentId);
-        Course course = courseService.findById(courseId);
+        return enrollStudent(courseId, studentId, null);
+    }
+
+    /**
+     * Enrolls the student, or returns the existing enrollment if there already is one. The role
+     * comes from the user cache and the course status is checked by the counter increment, which
+     * also takes the course row lock before anything else touches the row, so a new enrollment is
+     * one UPDATE and one INSERT; a repeated one is caught by the unique constraint. A request
+     * repeated with the same idempotency key gets the original response back.
+     */
+    public EnrollmentResponse enrollStudent(Long courseId, Long studentId, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > EnrollmentIdempotencyCache.MAX_KEY_LENGTH) {
+                throw new BadRequestException("Idempotency key must be 1 to "
+                        + EnrollmentIdempotencyCache.MAX_KEY_LENGTH + " characters");
+            }
+            Optional<EnrollmentResponse> previous = idempotencyCache.get(studentId, idempotencyKey);
+            if (previous.isPresent()) {
+                if (!previous.get().getCourseId().equals(courseId)) {
+                    throw new BadRequestException("Idempotency key was already used for another course");
+                }
+                return previous.get();
+            }
+        }
 
+        User student = userService.findById(studentId);
         if (student.getRole() != Role.STUDENT) {
             throw new BadRequestException("Only students can enroll in courses");
         }
 
-        if (course.getStatus() != CourseStatus.PUBLISHED) {
+        if (!courseService.incrementEnrollmentCountIfPublished(courseId)) {
+            courseService.findById(courseId);
             throw new BadRequestException("Can only enroll in published courses");
         }
 
-        if (enrollmentRepository.existsByStudentAndCourse(student, course)) {
-            throw new BadRequestException("Student is already enrolled in this course");
+        Long id;
+        try {
+            id = enrollmentWriteRepository.insert(studentId, courseId, progressStore.initialBitmap());
+        } catch (DuplicateKeyException e) {
+            courseService.adjustEnrollmentCount(courseId, -1);
+            // Already enrolled, e.g. a double-click or a retried request. A concurrent request's
+            // row may have committed after this transaction's snapshot, in which case only a
+            // fresh transaction can see it
+            EnrollmentResponse existing = enrollmentRepository.findSummaryByStudentIdAndCourseId(studentId, courseId)
+                    .or(() -> enrollmentRepository.findCommittedSummaryByStudentIdAndCourseId(studentId, courseId))
+                    .orElseThrow(() -> e);
+            return remember(studentId, idempotencyKey, existing);
         }
 
-        Enrollment enrollment = new Enrollment(student, course);
-        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
-
-        // Create initial progress records for all lessons
-        createInitialProgress(savedEnrollment);
-
-        return new EnrollmentResponse(savedEnrollment);
+        progressStore.initialize(id, courseId);
+        EnrollmentResponse response = enrollmentRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", id));
+        return remember(studentId, idempotencyKey, response);
     }
 
-    private void createInitialProgress(Enrollment enrollment) {
-        List<Lesson> lessons = enrollment.getCourse().getLessons();
-        for (Lesson lesson : lessons) {
-            Progress progress = new Progress(enrollment, lesson);
-            progressRepository.save(progress);
+    private EnrollmentResponse remember(Long studentId, String idempotencyKey, EnrollmentResponse response) {
+        if (idempotencyKey != null) {
+            idempotencyCache.put(studentId, idempotencyKey, response);
         }
+        return response;
     }
 
     public Enrollment findById(Long id) {
@@ -69,30 +110,57 @@ public class EnrollmentService {
     }
 
     public EnrollmentResponse getEnrollmentById(Long id) {
-        Enrollment enrollment = findById(id);
-        return new EnrollmentResponse(enrollment);
+        return enrollmentRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment", "id", id));
     }
 
     public Page<EnrollmentResponse> getStudentEnrollments(Long studentId, Pageable pageable) {
         User student = userService.findById(studentId);
-        return enrollmentRepository.findByStudent(student, pageable)
-                .map(EnrollmentResponse::new);
+        return enrollmentRepository.findSummariesByStudentId(student.getId(), pageable);
     }
 
     public Page<EnrollmentResponse> getCourseEnrollments(Long courseId, Pageable pageable) {
         Course course = courseService.findById(courseId);
-        return enrollmentRepository.findByCourse(course, pageable)
-                .map(EnrollmentResponse::new);
+        return enrollmentRepository.findSummariesByCourseId(course.getId(), pageable);
     }
 
     public Page<EnrollmentResponse> getInstructorEnrollments(Long instructorId, Pageable pageable) {
-        return enrollmentRepository.findByInstructorId(instructorId, pageable)
-                .map(EnrollmentResponse::new);
+        return enrollmentRepository.findSummariesByInstructorId(instructorId, pageable);
     }
 
     public Page<EnrollmentResponse> getAllEnrollments(Pageable pageable) {
-        return enrollmentRepository.findAll(pageable)
-                .map(EnrollmentResponse::new);
+        return enrollmentRepository.findAllSummaries(pageable);
+    }
+
+    public CursorPage<EnrollmentResponse> scrollStudentEnrollments(Long studentId, String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(enrollmentRepository.scrollSummariesByStudentId(studentId,
+                        after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), EnrollmentService::cursorOf);
+    }
+
+    public CursorPage<EnrollmentResponse> scrollCourseEnrollments(Long courseId, String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(enrollmentRepository.scrollSummariesByCourseId(courseId,
+                        after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), EnrollmentService::cursorOf);
+    }
+
+    public CursorPage<EnrollmentResponse> scrollInstructorEnrollments(Long instructorId, String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(enrollmentRepository.scrollSummariesByInstructorId(instructorId,
+                        after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), EnrollmentService::cursorOf);
+    }
+
+    public CursorPage<EnrollmentResponse> scrollAllEnrollments(String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(enrollmentRepository.scrollSummaries(after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, Function.identity(), EnrollmentService::cursorOf);
+    }
+
+    private static String cursorOf(EnrollmentResponse enrollment) {
+        return CursorCodec.encode(enrollment.getEnrolledAt(), enrollment.getId());
     }
 
     public void unenrollStudent(Long enrollmentId, Long studentId) {
@@ -102,12 +170,16 @@ public class EnrollmentService {
             throw new BadRequestException("You can only unenroll from your own courses");
         }
 
+        progressStore.enrollmentRemoved(enrollment);
         enrollmentRepository.delete(enrollment);
+        courseService.adjustEnrollmentCount(enrollment.getCourse().getId(), -1);
     }
 
     public void adminUnenrollStudent(Long enrollmentId) {
         Enrollment enrollment = findById(enrollmentId);
+        progressStore.enrollmentRemoved(enrollment);
         enrollmentRepository.delete(enrollment);
+        courseService.adjustEnrollmentCount(enrollment.getCourse().getId(), -1);
     }
 
     public boolean isStudentEnrolled(Long studentId, Long courseId) {
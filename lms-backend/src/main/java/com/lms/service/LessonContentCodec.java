@@ -0,0 +1,39 @@
+package com.lms.service;
+
+import com.lms.entity.Lesson;
+import com.lms.util.GzipCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decides how a lesson body is stored. Bodies below the threshold stay inline in the TEXT column;
+ * longer ones are gzip-compressed into {@code content_gzip} when that actually makes them smaller.
+ * Reads go through {@link Lesson#getContent()}, which inflates on first access.
+ */
+@Component
+public class LessonContentCodec {
+
+    @Value("${lessons.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lessons.compression.threshold-bytes:2048}")
+    private int thresholdBytes;
+
+    /** Stores {@code content} on the lesson, compressed when worthwhile; returns true if it was compressed. */
+    public boolean store(Lesson lesson, String content) {
+        if (content != null && enabled) {
+            byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+            if (raw.length >= thresholdBytes) {
+                byte[] compressed = GzipCodec.compress(raw);
+                if (compressed.length < raw.length) {
+                    lesson.setContentGzip(compressed);
+                    return true;
+                }
+            }
+        }
+        lesson.setContent(content);
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.lms.service;
+
+import com.lms.dto.LessonCompactionReport;
+import com.lms.repository.LessonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off migration of lesson bodies written before compressed storage existed. Walks lessons
+ * with inline content in id order, re-storing each batch through {@link LessonContentCodec} in
+ * its own transaction, and reports how many bytes the content columns shrank by. Bodies under the
+ * threshold are left inline, so running it again only revisits those.
+ */
+@Component
+public class LessonContentCompactor {
+    private static final Logger logger = LoggerFactory.getLogger(LessonContentCompactor.class);
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Value("${lessons.compression.migration-batch-size:200}")
+    private int batchSize;
+
+    public LessonCompactionReport compactAll() {
+        LessonCompactionReport report = new LessonCompactionReport();
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = lessonRepository.findInlineContentIdsAfter(afterId, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                report.addBatch(lessonService.compactContent(ids));
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+
+        logger.info("Compacted lesson content: {} of {} lessons compressed, {} -> {} bytes ({} saved, {}%)",
+                report.getLessonsCompressed(), report.getLessonsScanned(), report.getBytesBefore(),
+                report.getBytesAfter(), report.getBytesSaved(), String.format("%.1f", report.getSavedPercentage()));
+        return report;
+    }
+}
@@ -1,5 +1,6 @@
 package com.lms.service;
 
+import com.lms.dto.LessonCompactionReport;
 import com.lms.dto.LessonRequest;
 import com.lms.dto.LessonResponse;
 import com.lms.entity.Course;
@@ -7,11 +8,15 @@ import com.lms.entity.CourseStatus;
 import com.lms.entity.Lesson;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
+import com.lms.progress.ProgressSlotAllocator;
+import com.lms.progress.ProgressStore;
 import com.lms.repository.LessonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,15 @@ public class LessonService {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private LessonContentCodec lessonContentCodec;
+
+    @Autowired
+    private ProgressStore progressStore;
+
+    @Autowired
+    private ProgressSlotAllocator progressSlotAllocator;
+
     public LessonResponse createLesson(Long courseId, LessonRequest lessonRequest, Long instructorId) {
         Course course = courseService.findById(courseId);
 
@@ -49,14 +63,19 @@ public class LessonService {
 
         Lesson lesson = new Lesson(
                 lessonRequest.getTitle(),
-                lessonRequest.getContent(),
+                null,
                 lessonRequest.getContentType(),
                 lessonRequest.getOrderIndex(),
                 course
         );
+        lessonContentCodec.store(lesson, lessonRequest.getContent());
         lesson.setContentUrl(lessonRequest.getContentUrl());
 
+        lesson.setProgressSlot(progressSlotAllocator.nextSlot(courseId));
+
         Lesson savedLesson = lessonRepository.save(lesson);
+        courseService.adjustLessonCount(course.getId(), 1);
+        progressStore.lessonAdded(savedLesson);
         return new LessonResponse(savedLesson);
     }
 
@@ -79,12 +98,13 @@ public class LessonService {
         }
 
         lesson.setTitle(lessonRequest.getTitle());
-        lesson.setContent(lessonRequest.getContent());
+        lessonContentCodec.store(lesson, lessonRequest.getContent());
         lesson.setContentType(lessonRequest.getContentType());
         lesson.setContentUrl(lessonRequest.getContentUrl());
         lesson.setOrderIndex(lessonRequest.getOrderIndex());
 
         Lesson updatedLesson = lessonRepository.save(lesson);
+        courseService.lessonsChanged(course.getId());
         return new LessonResponse(updatedLesson);
     }
 
@@ -105,6 +125,39 @@ public class LessonService {
                 .collect(Collectors.toList());
     }
 
+    public List<LessonResponse> getLessonSummariesByCourse(Long courseId) {
+        return lessonRepository.findSummariesByCourseId(courseId);
+    }
+
+    /** Version of a lesson's content for conditional requests: its last modification time. */
+    public LocalDateTime getLessonVersion(Long courseId, Long lessonId) {
+        return lessonRepository.findVersionByIdAndCourseId(lessonId, courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", lessonId));
+    }
+
+    public Lesson findInCourse(Long courseId, Long lessonId) {
+        return lessonRepository.findByIdAndCourseId(lessonId, courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", lessonId));
+    }
+
+    public LessonResponse getLessonContent(Long courseId, Long lessonId) {
+        return new LessonResponse(findInCourse(courseId, lessonId));
+    }
+
+    /** Re-stores the inline content of the given lessons through the codec; one batch of the compaction. */
+    public LessonCompactionReport compactContent(List<Long> lessonIds) {
+        LessonCompactionReport report = new LessonCompactionReport();
+        for (Lesson lesson : lessonRepository.findAllById(lessonIds)) {
+            if (lesson.isContentCompressed() || lesson.getContent() == null) {
+                continue;
+            }
+            long before = lesson.getContent().getBytes(StandardCharsets.UTF_8).length;
+            boolean compressed = lessonContentCodec.store(lesson, lesson.getContent());
+            report.addLesson(before, compressed ? lesson.getContentGzip().length : before, compressed);
+        }
+        return report;
+    }
+
     public void deleteLesson(Long lessonId, Long instructorId) {
         Lesson lesson = findById(lessonId);
         Course course = lesson.getCourse();
@@ -117,7 +170,9 @@ public class LessonService {
             throw new BadRequestException("Cannot delete lessons from published courses");
         }
 
+        progressStore.lessonRemoved(lesson);
         lessonRepository.delete(lesson);
+        courseService.adjustLessonCount(course.getId(), -1);
     }
 
     public void reorderLessons(Long courseId, List<Long> lessonIds, Long instructorId) {
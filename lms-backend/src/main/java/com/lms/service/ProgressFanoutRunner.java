@@ -0,0 +1,88 @@
+package com.lms.service;
+
+import com.lms.event.ProgressFanoutRequestedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs progress fan-out jobs on a single background thread, one chunk transaction at a time. New
+ * jobs start once the lesson's transaction commits; the periodic sweep picks up jobs interrupted
+ * by a restart and retries failed ones from their last committed chunk.
+ */
+@Component
+public class ProgressFanoutRunner implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ProgressFanoutRunner.class);
+
+    @Autowired
+    private ProgressFanoutService progressFanoutService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Jobs queued or running here, so the sweep does not submit them twice
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    @TransactionalEventListener
+    public void onFanoutRequested(ProgressFanoutRequestedEvent event) {
+        submit(event.getJobId());
+    }
+
+    @Scheduled(initialDelayString = "${progress.fanout.resume-initial-delay-ms:30000}",
+               fixedDelayString = "${progress.fanout.resume-interval-ms:60000}")
+    public void resumeUnfinished() {
+        progressFanoutService.findResumableJobIds().forEach(this::submit);
+    }
+
+    /** Runs the job to completion on the calling thread; returns false if a chunk failed. */
+    public boolean run(Long jobId) {
+        int chunks = 0;
+        try {
+            while (!progressFanoutService.runChunk(jobId)) {
+                chunks++;
+            }
+            logger.info("Progress fan-out job {} finished after {} chunks", jobId, chunks + 1);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Progress fan-out job {} failed after {} chunks", jobId, chunks, e);
+            progressFanoutService.markFailed(jobId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!scheduled.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    scheduled.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            scheduled.remove(jobId);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Committed chunks are kept; the interrupted one rolls back and is redone on the next start
+        executor.shutdownNow();
+    }
+}
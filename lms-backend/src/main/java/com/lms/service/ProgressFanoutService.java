@@ -0,0 +1,163 @@
+package com.lms.service;
+
+import com.lms.dto.ProgressFanoutResponse;
+import com.lms.entity.Course;
+import com.lms.entity.Lesson;
+import com.lms.entity.ProgressFanoutJob;
+import com.lms.entity.ProgressFanoutStatus;
+import com.lms.event.ProgressFanoutRequestedEvent;
+import com.lms.exception.BadRequestException;
+import com.lms.exception.ResourceNotFoundException;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.ProgressBatchRepository;
+import com.lms.repository.ProgressFanoutJobRepository;
+import com.lms.repository.ProgressRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Progress rows for a lesson added to a course with existing enrollments. The instructor's
+ * request only records a {@link ProgressFanoutJob}; {@link ProgressFanoutRunner} then calls
+ * {@link #runChunk} until the job finishes, each chunk in its own transaction.
+ */
+@Service
+@Transactional
+public class ProgressFanoutService {
+
+    private static final Set<ProgressFanoutStatus> ACTIVE =
+            EnumSet.of(ProgressFanoutStatus.PENDING, ProgressFanoutStatus.RUNNING);
+
+    @Autowired
+    private ProgressFanoutJobRepository jobRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private ProgressBatchRepository progressBatchRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${progress.fanout.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${progress.fanout.max-attempts:5}")
+    private int maxAttempts;
+
+    /** Records a job for the lesson, unless its course has no enrollments to fan out to. */
+    public void enqueue(Lesson lesson) {
+        Long courseId = lesson.getCourse().getId();
+        if (!enrollmentRepository.existsByCourseId(courseId)) {
+            return;
+        }
+        ProgressFanoutJob job = jobRepository.save(new ProgressFanoutJob(lesson.getId(), courseId));
+        eventPublisher.publishEvent(new ProgressFanoutRequestedEvent(job.getId()));
+    }
+
+    /**
+     * Inserts the rows for the next chunk of enrollments and advances the job's cursor in the same
+     * transaction. Enrollments that already have a row for the lesson (they enrolled after it was
+     * added) are skipped. Returns whether the job has finished.
+     */
+    public boolean runChunk(Long jobId) {
+        ProgressFanoutJob job = jobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Progress fan-out job", "id", jobId));
+        if (job.isFinished()) {
+            return true;
+        }
+        if (!lessonRepository.existsById(job.getLessonId())) {
+            finish(job, ProgressFanoutStatus.CANCELLED);
+            return true;
+        }
+
+        List<Long> enrollmentIds = enrollmentRepository.findIdsByCourseIdAfter(job.getCourseId(),
+                job.getLastEnrollmentId(), PageRequest.of(0, chunkSize));
+        if (!enrollmentIds.isEmpty()) {
+            Set<Long> existing = new HashSet<>(progressRepository.findEnrollmentIdsByLessonId(job.getLessonId(), enrollmentIds));
+            List<Long> missing = enrollmentIds.stream()
+                    .filter(id -> !existing.contains(id))
+                    .collect(Collectors.toList());
+            int inserted = progressBatchRepository.insertForLesson(job.getLessonId(), missing);
+
+            job.setLastEnrollmentId(enrollmentIds.get(enrollmentIds.size() - 1));
+            job.setEnrollmentsScanned(job.getEnrollmentsScanned() + enrollmentIds.size());
+            job.setRowsInserted(job.getRowsInserted() + inserted);
+        }
+
+        if (enrollmentIds.size() < chunkSize) {
+            finish(job, ProgressFanoutStatus.COMPLETED);
+            return true;
+        }
+        job.setStatus(ProgressFanoutStatus.RUNNING);
+        return false;
+    }
+
+    public void markFailed(Long jobId, String error) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ProgressFanoutStatus.FAILED);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLastError(error == null || error.length() <= 1000 ? error : error.substring(0, 1000));
+        });
+    }
+
+    /** Jobs left pending or running (e.g. by a restart) and failed jobs with attempts left. */
+    @Transactional(readOnly = true)
+    public List<Long> findResumableJobIds() {
+        return jobRepository.findResumableIds(ACTIVE, maxAttempts);
+    }
+
+    @Transactional(readOnly = true)
+    public ProgressFanoutResponse getLessonFanout(Long courseId, Long lessonId, Long instructorId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+        if (!course.getInstructor().getId().equals(instructorId)) {
+            throw new BadRequestException("You can only view lessons in your own courses");
+        }
+        ProgressFanoutJob job = jobRepository.findByLessonId(lessonId)
+                .filter(found -> found.getCourseId().equals(courseId))
+                .orElseThrow(() -> new ResourceNotFoundException("Progress fan-out job", "lessonId", lessonId));
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProgressFanoutResponse> getUnfinishedJobs() {
+        return jobRepository.findByStatusInOrderByIdAsc(EnumSet.complementOf(
+                        EnumSet.of(ProgressFanoutStatus.COMPLETED, ProgressFanoutStatus.CANCELLED)))
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    private ProgressFanoutResponse toResponse(ProgressFanoutJob job) {
+        return new ProgressFanoutResponse(job, courseRepository.countEnrollmentsByCourseId(job.getCourseId()));
+    }
+
+    private void finish(ProgressFanoutJob job, ProgressFanoutStatus status) {
+        job.setStatus(status);
+        job.setLastError(null);
+        job.setFinishedAt(LocalDateTime.now());
+    }
+}
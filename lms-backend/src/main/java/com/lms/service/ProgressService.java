@@ -1,15 +1,17 @@
 package com.lms.service;
 
+import com.lms.dto.LessonProgressResponse;
 import com.lms.entity.Enrollment;
 import com.lms.entity.Lesson;
-import com.lms.entity.Progress;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
-import com.lms.repository.ProgressRepository;
+import com.lms.progress.ProgressStore;
+import com.lms.repository.EnrollmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -17,7 +19,10 @@ import java.util.List;
 public class ProgressService {
 
     @Autowired
-    private ProgressRepository progressRepository;
+    private ProgressStore progressStore;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
 
     @Autowired
     private EnrollmentService enrollmentService;
@@ -25,7 +30,7 @@ public class ProgressService {
     @Autowired
     private LessonService lessonService;
 
-    public Progress markLessonComplete(Long studentId, Long courseId, Long lessonId) {
+    public LessonProgressResponse markLessonComplete(Long studentId, Long courseId, Long lessonId) {
         Enrollment enrollment = enrollmentService.getEnrollmentByStudentAndCourse(studentId, courseId);
         Lesson lesson = lessonService.findById(lessonId);
 
@@ -33,14 +38,10 @@ public class ProgressService {
             throw new BadRequestException("Lesson does not belong to the specified course");
         }
 
-        Progress progress = progressRepository.findByEnrollmentAndLesson(enrollment, lesson)
-                .orElseThrow(() -> new ResourceNotFoundException("Progress not found for lesson"));
-
-        progress.setCompleted(true);
-        return progressRepository.save(progress);
+        return progressStore.setCompleted(enrollment, lesson, true);
     }
 
-    public Progress markLessonIncomplete(Long studentId, Long courseId, Long lessonId) {
+    public LessonProgressResponse markLessonIncomplete(Long studentId, Long courseId, Long lessonId) {
         Enrollment enrollment = enrollmentService.getEnrollmentByStudentAndCourse(studentId, courseId);
         Lesson lesson = lessonService.findById(lessonId);
 
@@ -48,32 +49,28 @@ public class ProgressService {
             throw new BadRequestException("Lesson does not belong to the specified course");
         }
 
-        Progress progress = progressRepository.findByEnrollmentAndLesson(enrollment, lesson)
-                .orElseThrow(() -> new ResourceNotFoundException("Progress not found for lesson"));
-
-        progress.setCompleted(false);
-        return progressRepository.save(progress);
+        return progressStore.setCompleted(enrollment, lesson, false);
     }
 
-    public List<Progress> getStudentProgressForCourse(Long studentId, Long courseId) {
-        return progressRepository.findByStudentIdAndCourseId(studentId, courseId);
+    public List<LessonProgressResponse> getStudentProgressForCourse(Long studentId, Long courseId) {
+        return enrollmentRepository.findWithProgressesByStudentIdAndCourseId(studentId, courseId)
+                .map(progressStore::getProgress)
+                .orElse(Collections.emptyList());
     }
 
-    public Progress getStudentProgressForLesson(Long studentId, Long courseId, Long lessonId) {
+    public LessonProgressResponse getStudentProgressForLesson(Long studentId, Long courseId, Long lessonId) {
         Enrollment enrollment = enrollmentService.getEnrollmentByStudentAndCourse(studentId, courseId);
         Lesson lesson = lessonService.findById(lessonId);
 
-        return progressRepository.findByEnrollmentAndLesson(enrollment, lesson)
+        if (!lesson.getCourse().getId().equals(courseId)) {
+            throw new BadRequestException("Lesson does not belong to the specified course");
+        }
+
+        return progressStore.getProgress(enrollment, lesson)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress not found for lesson"));
     }
 
     public void createProgressForNewLesson(Long lessonId) {
-        Lesson lesson = lessonService.findById(lessonId);
-        List<Enrollment> enrollments = lesson.getCourse().getEnrollments().stream().toList();
-
-        for (Enrollment enrollment : enrollments) {
-            Progress progress = new Progress(enrollment, lesson);
-            progressRepository.save(progress);
-        }
+        progressStore.lessonAdded(lessonService.findById(lessonId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package com.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.config.UserPrincipal;
+import com.lms.dto.TokenRefreshResponse;
+import com.lms.entity.RefreshToken;
+import com.lms.entity.User;
+import com.lms.exception.UnauthorizedException;
+import com.lms.repository.RefreshTokenRepository;
+import com.lms.repository.UserRepository;
+import com.lms.util.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens are random 256-bit values; only their SHA-256
+ * hash is persisted, so a refresh costs a hash and an indexed lookup instead of a BCrypt check.
+ * Recently issued tokens are kept in a bounded in-memory LRU so the lookup is usually skipped;
+ * the conditional {@code markUsed} update stays authoritative, so a stale cache entry can never
+ * let a used or revoked token through.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${jwt.refresh.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private final long refreshExpirationMs;
+    private final Cache<String, CachedToken> recentTokens;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(@Value("${jwt.refresh.expiration-ms:1209600000}") long refreshExpirationMs,
+                               @Value("${jwt.refresh.cache-size:10000}") long cacheSize) {
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.recentTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(refreshExpirationMs))
+                .build();
+    }
+
+    /**
+     * Starts a new token family for a fresh signin and returns the raw token for the client.
+     */
+    public String issue(UserPrincipal principal) {
+        return issue(principal.getId(), principal.getSecurityEpoch(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token in the same family.
+     * Presenting a token that was already used revokes the family, since it means the token leaked.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public TokenRefreshResponse rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        CachedToken token = lookup(tokenHash);
+        recentTokens.invalidate(tokenHash);
+
+        if (token.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+
+        if (refreshTokenRepository.markUsed(token.id()) == 0) {
+            refreshTokenRepository.revokeFamily(token.familyId());
+            logger.warn("Refresh token reuse detected for user {}, revoking token family {}",
+                    token.userId(), token.familyId());
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+
+        User user = userCache.getById(token.userId(), userRepository::findById)
+                .filter(User::getActive)
+                .orElse(null);
+        if (user == null || user.getSecurityEpoch() != token.securityEpoch()) {
+            refreshTokenRepository.revokeFamily(token.familyId());
+            throw new UnauthorizedException("Session is no longer valid, please sign in again");
+        }
+
+        UserPrincipal principal = UserPrincipal.create(user);
+        String accessToken = jwtUtils.generateTokenForPrincipal(principal);
+        String refreshToken = issue(user.getId(), principal.getSecurityEpoch(), token.familyId());
+        return new TokenRefreshResponse(accessToken, refreshToken);
+    }
+
+    /**
+     * Revokes the family of the given token (logout). Unknown tokens are ignored.
+     */
+    public void revoke(String rawToken) {
+        String tokenHash = hash(rawToken);
+        CachedToken cached = recentTokens.getIfPresent(tokenHash);
+        recentTokens.invalidate(tokenHash);
+        String familyId = cached != null
+                ? cached.familyId()
+                : refreshTokenRepository.findByTokenHash(tokenHash).map(RefreshToken::getFamilyId).orElse(null);
+        if (familyId != null) {
+            refreshTokenRepository.revokeFamily(familyId);
+        }
+    }
+
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    /**
+     * Deletes expired tokens in fixed-size batches, each in its own short transaction, so the
+     * sweep never holds long locks on the table.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh.sweep-interval-ms:3600000}",
+               fixedDelayString = "${jwt.refresh.sweep-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sweepExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, sweepBatchSize));
+            if (!ids.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+            }
+        } while (ids.size() == sweepBatchSize);
+
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+        return deleted;
+    }
+
+    private String issue(Long userId, long securityEpoch, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String tokenHash = hash(rawToken);
+
+        RefreshToken refreshToken = refreshTokenRepository.save(new RefreshToken(tokenHash, familyId, userId,
+                securityEpoch, LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs))));
+        recentTokens.put(tokenHash, CachedToken.of(refreshToken));
+        return rawToken;
+    }
+
+    private CachedToken lookup(String tokenHash) {
+        CachedToken cached = recentTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .map(CachedToken::of)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedToken(Long id, Long userId, String familyId, long securityEpoch, LocalDateTime expiresAt) {
+        static CachedToken of(RefreshToken token) {
+            return new CachedToken(token.getId(), token.getUserId(), token.getFamilyId(),
+                    token.getSecurityEpoch(), token.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lms.service;
+
+import com.lms.repository.UserRepository;
+import com.lms.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory Bloom filters over every username and email, used to answer availability checks
+ * without a query: a miss means the value is certainly free, and only a hit is confirmed
+ * against the database. Values are compared case-insensitively, matching the database
+ * collation. Entries are added on create/update; renamed and deleted users only cause extra
+ * confirmations until the next rebuild, which also picks up users created on other instances.
+ */
+@Component
+public class UserAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+
+    public UserAvailabilityIndex(@Value("${user-availability.expected-users:100000}") long expectedUsers,
+                                 @Value("${user-availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernames = BloomFilter.create(expectedUsers, falsePositiveRate);
+        this.emails = BloomFilter.create(expectedUsers, falsePositiveRate);
+    }
+
+    public boolean mightHaveUsername(String username) {
+        return username != null && usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightHaveEmail(String email) {
+        return email != null && emails.mightContain(normalize(email));
+    }
+
+    public synchronized void add(String username, String email) {
+        usernames.put(normalize(username));
+        emails.put(normalize(email));
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${user-availability.rebuild-ms:600000}",
+               fixedDelayString = "${user-availability.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        List<String> allUsernames = userRepository.findAllUsernames();
+        List<String> allEmails = userRepository.findAllEmails();
+        long capacity = Math.max(expectedUsers, allUsernames.size() * 2L);
+
+        BloomFilter rebuiltUsernames = BloomFilter.create(capacity, falsePositiveRate);
+        allUsernames.forEach(username -> rebuiltUsernames.put(normalize(username)));
+        BloomFilter rebuiltEmails = BloomFilter.create(capacity, falsePositiveRate);
+        allEmails.forEach(email -> rebuiltEmails.put(normalize(email)));
+
+        usernames = rebuiltUsernames;
+        emails = rebuiltEmails;
+        logger.debug("Rebuilt user availability index with {} users", allUsernames.size());
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
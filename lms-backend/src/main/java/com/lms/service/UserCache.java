@@ -0,0 +1,110 @@
+package com.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lms.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of users by id and by username, used by the authentication path
+ * and {@link UserService#findById}. Entries expire after {@code user-cache.expire-after-write}
+ * and are invalidated explicitly whenever {@link UserService} changes a user.
+ *
+ * Values are detached snapshots; every read hands out a fresh copy so callers can never mutate
+ * shared state. Code that modifies a user must load the managed entity from the repository.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final Cache<Long, User> usersById;
+    private final Cache<String, User> usersByUsername;
+
+    public UserCache(@Value("${user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${user-cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.usersByUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> getById(Long id, Function<Long, Optional<User>> loader) {
+        User cached = usersById.get(id, key -> loader.apply(key).map(UserCache::snapshot).orElse(null));
+        return Optional.ofNullable(cached).map(UserCache::snapshot);
+    }
+
+    public Optional<User> getByUsername(String username, Function<String, Optional<User>> loader) {
+        User cached = usersByUsername.get(username, key -> loader.apply(key).map(UserCache::snapshot).orElse(null));
+        return Optional.ofNullable(cached).map(UserCache::snapshot);
+    }
+
+    /**
+     * Drops the user from both views now and again after the surrounding transaction commits,
+     * so a concurrent reader cannot re-cache the pre-commit row.
+     */
+    public void invalidate(Long id, String username) {
+        evict(id, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id, username);
+                }
+            });
+        }
+    }
+
+    public CacheStats byIdStats() {
+        return usersById.stats();
+    }
+
+    public CacheStats byUsernameStats() {
+        return usersByUsername.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(registry, usersByUsername, "users.byUsername");
+    }
+
+    private void evict(Long id, String username) {
+        usersById.invalidate(id);
+        if (username != null) {
+            usersByUsername.invalidate(username);
+        }
+    }
+
+    private static User snapshot(User user) {
+        User copy = new User(
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRole()
+        );
+        copy.setId(user.getId());
+        copy.setActive(user.getActive());
+        copy.setSecurityEpoch(user.getSecurityEpoch());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+}
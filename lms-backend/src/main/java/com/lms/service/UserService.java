@@ -1,5 +1,7 @@
 package com.lms.service;
 
+import com.lms.config.SecurityEpochTable;
+import com.lms.dto.CursorPage;
 import com.lms.dto.SignupRequest;
 import com.lms.dto.UserResponse;
 import com.lms.entity.Role;
@@ -7,13 +9,18 @@ import com.lms.entity.User;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.UserRepository;
+import com.lms.util.CursorCodec;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
+
 @Service
 @Transactional
 public class UserService {
@@ -24,15 +31,16 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public User createUser(SignupRequest signupRequest) {
-        if (userRepository.existsByUsername(signupRequest.getUsername())) {
-            throw new BadRequestException("Username is already taken!");
-        }
+    @Autowired
+    private SecurityEpochTable securityEpochTable;
 
-        if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new BadRequestException("Email is already in use!");
-        }
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserAvailabilityIndex availabilityIndex;
 
+    public User createUser(SignupRequest signupRequest) {
         User user = new User(
                 signupRequest.getUsername(),
                 signupRequest.getEmail(),
@@ -42,7 +50,16 @@ public class UserService {
                 signupRequest.getRole()
         );
 
-        return userRepository.save(user);
+        // No pre-check queries: the unique constraints on users decide, and a violation is
+        // translated into the same messages the old existence checks produced
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUserException(e, user);
+        }
+        availabilityIndex.add(savedUser.getUsername(), savedUser.getEmail());
+        return savedUser;
     }
 
     public User findByUsername(String username) {
@@ -50,7 +67,16 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 
+    /**
+     * Returns a detached, cached snapshot of the user. Use it for reads and as an association
+     * reference; changes to the returned object are not persisted.
+     */
     public User findById(Long id) {
+        return userCache.getById(id, userRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
+    private User loadForUpdate(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
@@ -70,18 +96,35 @@ public class UserService {
                 .map(UserResponse::new);
     }
 
-    public UserResponse updateUser(Long id, SignupRequest updateRequest) {
-        User user = findById(id);
+    public CursorPage<UserResponse> scrollAllUsers(String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(userRepository.scrollAll(after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, UserResponse::new, UserService::cursorOf);
+    }
 
-        if (!user.getUsername().equals(updateRequest.getUsername()) &&
-            userRepository.existsByUsername(updateRequest.getUsername())) {
-            throw new BadRequestException("Username is already taken!");
-        }
+    public CursorPage<UserResponse> scrollUsersByRole(Role role, String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(userRepository.scrollByRole(role, after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, UserResponse::new, UserService::cursorOf);
+    }
 
-        if (!user.getEmail().equals(updateRequest.getEmail()) &&
-            userRepository.existsByEmail(updateRequest.getEmail())) {
-            throw new BadRequestException("Email is already in use!");
-        }
+    public CursorPage<UserResponse> scrollActiveUsers(String cursor, int size) {
+        CursorCodec.Position after = CursorCodec.decode(cursor);
+        return CursorPage.of(userRepository.scrollActive(after.getSortKey(), after.getId(), CursorPage.window(size)),
+                size, UserResponse::new, UserService::cursorOf);
+    }
+
+    private static String cursorOf(User user) {
+        return CursorCodec.encode(user.getCreatedAt(), user.getId());
+    }
+
+    public UserResponse updateUser(Long id, SignupRequest updateRequest) {
+        User user = loadForUpdate(id);
+        userCache.invalidate(user.getId(), user.getUsername());
+
+        // Issued tokens carry username and role, so changing either (or the password) retires them
+        boolean credentialsChanged = !user.getUsername().equals(updateRequest.getUsername()) ||
+                user.getRole() != updateRequest.getRole();
 
         user.setUsername(updateRequest.getUsername());
         user.setEmail(updateRequest.getEmail());
@@ -91,34 +134,100 @@ public class UserService {
 
         if (updateRequest.getPassword() != null && !updateRequest.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
+            credentialsChanged = true;
+        }
+
+        if (credentialsChanged) {
+            bumpSecurityEpoch(user);
         }
 
-        User updatedUser = userRepository.save(user);
+        User updatedUser;
+        try {
+            updatedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUserException(e, user);
+        }
+        availabilityIndex.add(updatedUser.getUsername(), updatedUser.getEmail());
         return new UserResponse(updatedUser);
     }
 
     public void deactivateUser(Long id) {
-        User user = findById(id);
+        User user = loadForUpdate(id);
+        userCache.invalidate(user.getId(), user.getUsername());
         user.setActive(false);
+        bumpSecurityEpoch(user);
         userRepository.save(user);
     }
 
     public void activateUser(Long id) {
-        User user = findById(id);
+        User user = loadForUpdate(id);
+        userCache.invalidate(user.getId(), user.getUsername());
         user.setActive(true);
         userRepository.save(user);
+        securityEpochTable.record(user.getId(), user.getSecurityEpoch(), true);
+    }
+
+    /**
+     * Invalidates every access token issued to the user so far by moving their security epoch.
+     */
+    public void revokeSessions(Long id) {
+        User user = loadForUpdate(id);
+        userCache.invalidate(user.getId(), user.getUsername());
+        bumpSecurityEpoch(user);
+        userRepository.save(user);
     }
 
     public void deleteUser(Long id) {
-        User user = findById(id);
+        User user = loadForUpdate(id);
+        userCache.invalidate(user.getId(), user.getUsername());
         userRepository.delete(user);
+        securityEpochTable.revoke(id);
+    }
+
+    private void bumpSecurityEpoch(User user) {
+        long epoch = user.getSecurityEpoch() == null ? 1L : user.getSecurityEpoch() + 1;
+        user.setSecurityEpoch(epoch);
+        securityEpochTable.record(user.getId(), epoch, Boolean.TRUE.equals(user.getActive()));
     }
 
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return availabilityIndex.mightHaveUsername(username) && userRepository.existsByUsername(username);
     }
 
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return availabilityIndex.mightHaveEmail(email) && userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Picks the message for a unique-constraint violation on users from the name of the violated
+     * constraint, as reported by Hibernate for the dialect in use. Databases created before the
+     * constraints were named keep their generated UK... indexes under ddl-auto: update, so an
+     * unrecognised name falls back to looking for the conflicting row in a fresh transaction
+     * (the session is unusable after a failed flush).
+     */
+    private RuntimeException duplicateUserException(DataIntegrityViolationException e, User user) {
+        String constraint = violatedConstraint(e);
+        boolean usernameTaken = constraint.contains(User.UK_USERNAME);
+        boolean emailTaken = constraint.contains(User.UK_EMAIL);
+        if (!usernameTaken && !emailTaken) {
+            usernameTaken = userRepository.existsOtherByUsername(user.getUsername(), user.getId());
+            emailTaken = !usernameTaken && userRepository.existsOtherByEmail(user.getEmail(), user.getId());
+        }
+        if (usernameTaken) {
+            return new BadRequestException("Username is already taken!");
+        }
+        if (emailTaken) {
+            return new BadRequestException("Email is already in use!");
+        }
+        return e;
+    }
+
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "";
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.lms.util;
+
+import com.lms.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token carries the sort key and id of the
+ * last row a client has seen; the next page is everything strictly after that position in
+ * (sort key desc, id desc) order. Tokens are not signed: a forged token only moves the caller
+ * to another position in a list they are already allowed to read.
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "v1";
+
+    /** Position before the first row of a descending scan. */
+    public static final Position START = new Position(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private CursorCodec() {}
+
+    public static String encode(LocalDateTime sortKey, Long id) {
+        String raw = VERSION + "|" + sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public static final class Position {
+        private final LocalDateTime sortKey;
+        private final Long id;
+
+        public Position(LocalDateTime sortKey, Long id) {
+            this.sortKey = sortKey;
+            this.id = id;
+        }
+
+        public LocalDateTime getSortKey() {
+            return sortKey;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.lms.benchmark;
+
+import com.lms.LmsBackendApplication;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.ContentType;
+import com.lms.entity.Course;
+import com.lms.entity.CourseStatus;
+import com.lms.entity.Enrollment;
+import com.lms.entity.Lesson;
+import com.lms.entity.Progress;
+import com.lms.entity.Role;
+import com.lms.entity.User;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.ProgressRepository;
+import com.lms.service.CourseCounterReconciler;
+import com.lms.service.UserService;
+import com.lms.util.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.ApplicationContextFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Time to load the student course page: the single /detail aggregate against the four calls
+ * CourseDetail.jsx used to make (course, lessons, enrollment check, progress), for an enrolled
+ * student on a course with {@code lessons} lessons. Runs against the in-memory H2 test
+ * database, so every saved round-trip would cost more against MySQL over the network.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) com.lms.benchmark.CourseDetailBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseDetailBenchmark {
+
+    @Param({"20"})
+    public int lessons;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String token;
+    private Long courseId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LmsBackendApplication.class)
+                .contextFactory(ApplicationContextFactory.of(
+                        () -> new GenericWebApplicationContext(new MockServletContext())))
+                .profiles("test")
+                .run("--spring.web.resources.add-mappings=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.lms=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+
+        UserService userService = context.getBean(UserService.class);
+        User instructor = userService.createUser(new SignupRequest(
+                "benchinstructor", "benchinstructor@example.com", "password123", "Bench", "Instructor", Role.INSTRUCTOR));
+        User student = userService.createUser(new SignupRequest(
+                "benchstudent", "benchstudent@example.com", "password123", "Bench", "Student", Role.STUDENT));
+
+        Course course = new Course("Benchmarked course", "Description", instructor);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = context.getBean(CourseRepository.class).save(course);
+        courseId = course.getId();
+        Enrollment enrollment = context.getBean(EnrollmentRepository.class).save(new Enrollment(student, course));
+        for (int i = 1; i <= lessons; i++) {
+            Lesson lesson = context.getBean(LessonRepository.class)
+                    .save(new Lesson("Lesson " + i, "Lesson content " + i, ContentType.TEXT, i, course));
+            Progress progress = new Progress(enrollment, lesson);
+            progress.setCompleted(i % 3 == 0);
+            context.getBean(ProgressRepository.class).save(progress);
+        }
+        context.getBean(CourseCounterReconciler.class).reconcile();
+
+        Authentication authentication = context.getBean(AuthenticationManager.class)
+                .authenticate(new UsernamePasswordAuthenticationToken("benchstudent", "password123"));
+        token = context.getBean(JwtUtils.class).generateJwtToken(authentication);
+
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int aggregate() throws Exception {
+        return request("/api/courses/public/" + courseId + "/detail");
+    }
+
+    @Benchmark
+    public int fourCalls() throws Exception {
+        return request("/api/courses/public/" + courseId)
+                + request("/api/courses/public/" + courseId + "/lessons")
+                + request("/api/enrollments/check/" + courseId)
+                + request("/api/enrollments/progress/" + courseId);
+    }
+
+    private int request(String url) throws Exception {
+        int status = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+        if (status != 200) {
+            throw new IllegalStateException(url + " returned " + status);
+        }
+        return status;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CourseDetailBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
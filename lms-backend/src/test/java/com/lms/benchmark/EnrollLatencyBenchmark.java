@@ -0,0 +1,112 @@
+package com.lms.benchmark;
+
+import com.lms.LmsBackendApplication;
+import com.lms.dto.EnrollmentResponse;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.ContentType;
+import com.lms.entity.Course;
+import com.lms.entity.CourseStatus;
+import com.lms.entity.Lesson;
+import com.lms.entity.Role;
+import com.lms.entity.User;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.UserRepository;
+import com.lms.service.CourseCounterReconciler;
+import com.lms.service.EnrollmentService;
+import com.lms.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link EnrollmentService#enrollStudent} against the number of lessons in the course,
+ * with progress rows written one statement at a time (batch size 1, the old per-row cost) and in
+ * JDBC batches. Every invocation enrolls a fresh student from a pool created up front. Runs against
+ * the in-memory H2 test database, where a round-trip is cheap; against MySQL over the network the
+ * per-row path pays a network round-trip per lesson.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) com.lms.benchmark.EnrollLatencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 300)
+@Fork(1)
+public class EnrollLatencyBenchmark {
+
+    private static final int STUDENTS = 500;
+
+    @Param({"10", "80", "200"})
+    public int lessons;
+
+    @Param({"1", "500"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentService enrollmentService;
+    private Long courseId;
+    private final List<Long> studentIds = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LmsBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--progress.insert-batch-size=" + batchSize,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.lms=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        enrollmentService = context.getBean(EnrollmentService.class);
+
+        User instructor = context.getBean(UserService.class).createUser(new SignupRequest(
+                "benchinstructor", "benchinstructor@example.com", "password123", "Bench", "Instructor", Role.INSTRUCTOR));
+        Course course = new Course("Benchmarked course", "Description", instructor);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = context.getBean(CourseRepository.class).save(course);
+        courseId = course.getId();
+        LessonRepository lessonRepository = context.getBean(LessonRepository.class);
+        for (int i = 1; i <= lessons; i++) {
+            lessonRepository.save(new Lesson("Lesson " + i, "Content " + i, ContentType.TEXT, i, course));
+        }
+        context.getBean(CourseCounterReconciler.class).reconcile();
+
+        // Saved directly so setup does not pay for password hashing
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds.add(userRepository.save(new User("benchstudent" + i, "benchstudent" + i + "@example.com",
+                    "not-a-hash", "Bench", "Student", Role.STUDENT)).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EnrollmentResponse enroll() {
+        return enrollmentService.enrollStudent(courseId, studentIds.get(next++));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EnrollLatencyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
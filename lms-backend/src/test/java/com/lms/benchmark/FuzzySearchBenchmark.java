@@ -0,0 +1,89 @@
+package com.lms.benchmark;
+
+import com.lms.search.InvertedIndex;
+import com.lms.search.SearchHits;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency against a synthetic catalog of 100k courses: exact BM25 lookups and
+ * typo-tolerant lookups whose tokens are all misspelled, so every token goes through trigram
+ * candidate generation and bounded edit distance.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) com.lms.benchmark.FuzzySearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class FuzzySearchBenchmark {
+
+    private static final String[] SUBJECTS = {
+            "python", "java", "kotlin", "javascript", "typescript", "react", "spring", "docker", "kubernetes",
+            "machine", "learning", "statistics", "calculus", "algebra", "photography", "marketing", "accounting",
+            "design", "security", "networking", "databases", "cloud", "finance", "writing", "spanish", "guitar",
+            "drawing", "nutrition", "leadership", "negotiation", "excel", "analytics", "blockchain", "robotics"
+    };
+    private static final String[] LEVELS = {
+            "introduction", "fundamentals", "advanced", "mastery", "bootcamp", "essentials", "workshop", "practical"
+    };
+    private static final String[] FILLER = {
+            "build", "projects", "hands", "exercises", "real", "world", "examples", "career", "skills", "beginners",
+            "experts", "complete", "guide", "step", "modern", "techniques", "patterns", "deep", "dive", "course"
+    };
+
+    @Param({"100000"})
+    public int courses;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InvertedIndex();
+        for (long id = 1; id <= courses; id++) {
+            String title = pick(random, LEVELS) + " " + pick(random, SUBJECTS) + " " + pick(random, SUBJECTS) + " " + id;
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 20; word++) {
+                description.append(random.nextInt(4) == 0 ? pick(random, SUBJECTS) : pick(random, FILLER)).append(' ');
+            }
+            index.upsert(id, title, description.toString());
+        }
+    }
+
+    @Benchmark
+    public SearchHits exact() {
+        return index.search("kubernetes fundamentals", 0, 10, false);
+    }
+
+    @Benchmark
+    public SearchHits fuzzy() {
+        return index.search("kubernets fundamentls", 0, 10, true);
+    }
+
+    @Benchmark
+    public SearchHits fuzzyRareTerm() {
+        return index.search("negotiaton", 0, 10, true);
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FuzzySearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
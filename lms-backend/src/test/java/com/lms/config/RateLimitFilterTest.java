@@ -0,0 +1,145 @@
+package com.lms.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Limit perUsername = new RateLimitProperties.Limit();
+        perUsername.setCapacity(2);
+        perUsername.setRefillPeriod(Duration.ofHours(1));
+        RateLimitProperties.Limit perIp = new RateLimitProperties.Limit();
+        perIp.setCapacity(3);
+        perIp.setRefillPeriod(Duration.ofHours(1));
+
+        RateLimitProperties.Group signin = new RateLimitProperties.Group();
+        signin.setPaths(List.of("/api/auth/signin"));
+        signin.setPerUsername(perUsername);
+        signin.setPerIp(perIp);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getGroups().put("signin", signin);
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        filter.init();
+    }
+
+    @Test
+    void signin_UsernameOverLimit_RejectedBeforeChain() throws Exception {
+        assertEquals(200, signin("alice", "10.0.0.1").getStatus());
+        assertEquals(200, signin("alice", "10.0.0.2").getStatus());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = signin("alice", "10.0.0.3", chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "rejected request must not reach authentication");
+        assertEquals(1.0, meterRegistry.get("auth.rate_limit.rejected").tag("key", "username").counter().count());
+    }
+
+    @Test
+    void signin_IpOverLimit_Rejected() throws Exception {
+        assertEquals(200, signin("a", "10.0.0.9").getStatus());
+        assertEquals(200, signin("b", "10.0.0.9").getStatus());
+        assertEquals(200, signin("c", "10.0.0.9").getStatus());
+
+        assertEquals(429, signin("d", "10.0.0.9").getStatus());
+    }
+
+    @Test
+    void signin_BodyStillReadableDownstream() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        signin("bob", "10.0.0.5", chain);
+
+        byte[] body = chain.getRequest().getInputStream().readAllBytes();
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains("\"bob\""));
+    }
+
+    @Test
+    void signin_OversizedBody_RejectedWithoutTruncating() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+        request.setServletPath("/api/auth/signin");
+        request.setRemoteAddr("10.0.0.6");
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"carol\",\"password\":\"" + "x".repeat(16 * 1024) + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest(), "oversized request must not reach authentication");
+    }
+
+    @Test
+    void signin_ReadListenerNotifiedOfBufferedBody() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        signin("dave", "10.0.0.7", chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allDataRead.get());
+        assertTrue(read.toString(StandardCharsets.UTF_8).contains("\"dave\""));
+    }
+
+    private MockHttpServletResponse signin(String username, String ip) throws Exception {
+        return signin(username, ip, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse signin(String username, String ip, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+        request.setServletPath("/api/auth/signin");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,54 @@
+package com.lms.config;
+
+import com.lms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SecurityEpochTableTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SecurityEpochTable table = new SecurityEpochTable(60_000, 10);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(table, "userRepository", userRepository);
+        when(userRepository.findActiveSecurityEpochById(anyLong())).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void isCurrent_LoadsOnceThenServesFromMemory() {
+        assertTrue(table.isCurrent(1L, 1L));
+        assertFalse(table.isCurrent(1L, 0L));
+
+        verify(userRepository, times(1)).findActiveSecurityEpochById(1L);
+    }
+
+    @Test
+    void revoke_TakesEffectImmediately() {
+        assertTrue(table.isCurrent(1L, 1L));
+
+        table.revoke(1L);
+
+        assertFalse(table.isCurrent(1L, 1L));
+    }
+
+    @Test
+    void fullTable_EvictsSingleEntriesAndKeepsRecentRevocation() {
+        for (long userId = 1; userId <= 50; userId++) {
+            table.isCurrent(userId, 1L);
+        }
+        table.revoke(100L);
+
+        // Bounded without ever dropping the whole table, so the revocation just written stays
+        assertTrue(table.size() <= 10);
+        assertFalse(table.isCurrent(100L, 1L));
+        verify(userRepository, never()).findActiveSecurityEpochById(100L);
+    }
+}
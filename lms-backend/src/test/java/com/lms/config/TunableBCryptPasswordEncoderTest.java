@@ -0,0 +1,30 @@
+package com.lms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TunableBCryptPasswordEncoderTest {
+
+    private final TunableBCryptPasswordEncoder encoder = new TunableBCryptPasswordEncoder(5);
+
+    @Test
+    void upgradeEncoding_CostDiffersFromTarget_ReturnsTrue() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123")));
+    }
+
+    @Test
+    void upgradeEncoding_CostMatchesTarget_ReturnsFalse() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    @Test
+    void calibrate_StaysWithinBounds() {
+        int cost = TunableBCryptPasswordEncoder.calibrate(0, 4, 6);
+
+        assertEquals(4, cost);
+    }
+}
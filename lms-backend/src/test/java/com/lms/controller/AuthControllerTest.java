@@ -1,10 +1,13 @@
 package com.lms.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.config.TokenRevocationList;
+import com.lms.config.UserPrincipal;
 import com.lms.dto.LoginRequest;
 import com.lms.dto.SignupRequest;
 import com.lms.entity.Role;
 import com.lms.entity.User;
+import com.lms.service.RefreshTokenService;
 import com.lms.service.UserService;
 import com.lms.util.JwtUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,6 +50,12 @@ class AuthControllerTest {
     @MockBean
     private JwtUtils jwtUtils;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -112,10 +121,10 @@ class AuthControllerTest {
     @Test
     void signin_Success() throws Exception {
         // Given
-        Authentication authentication = new UsernamePasswordAuthenticationToken("testuser", "password123");
+        UserPrincipal principal = UserPrincipal.create(user);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
         when(jwtUtils.generateJwtToken(any())).thenReturn("jwt-token");
-        when(userService.findById(any())).thenReturn(user);
 
         // When & Then
         mockMvc.perform(post("/api/auth/signin")
@@ -0,0 +1,198 @@
+package com.lms.integration;
+
+import com.lms.dto.EnrollmentResponse;
+import com.lms.dto.LessonProgressResponse;
+import com.lms.dto.LessonRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.*;
+import com.lms.progress.ReleasedSlotCleaner;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.service.CourseCounterReconciler;
+import com.lms.service.EnrollmentService;
+import com.lms.service.LessonService;
+import com.lms.service.ProgressService;
+import com.lms.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "progress.store=bitmap")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class BitmapProgressStoreIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseCounterReconciler reconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReleasedSlotCleaner releasedSlotCleaner;
+
+    private User instructor;
+    private User student;
+    private Course course;
+    private final List<Long> lessonIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        instructor = userService.createUser(new SignupRequest(
+                "bitmapinstructor", "bitmapinstructor@example.com", "password123", "Bitmap", "Instructor", Role.INSTRUCTOR));
+        student = userService.createUser(new SignupRequest(
+                "bitmapstudent", "bitmapstudent@example.com", "password123", "Bitmap", "Student", Role.STUDENT));
+        course = courseRepository.save(new Course("Bitmap course", "Description", instructor));
+        for (int i = 1; i <= 4; i++) {
+            lessonIds.add(lessonService.createLesson(course.getId(),
+                    new LessonRequest("Lesson " + i, "Content", ContentType.TEXT, null, null), instructor.getId()).getId());
+        }
+        course.setStatus(CourseStatus.PUBLISHED);
+        courseRepository.save(course);
+        reconciler.reconcile();
+    }
+
+    @Test
+    void enrollAndComplete_TrackedInBitmapWithoutProgressRows() {
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress", Integer.class));
+
+        LessonProgressResponse completed = progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(1));
+        progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(3));
+        progressService.markLessonIncomplete(student.getId(), course.getId(), lessonIds.get(3));
+        assertTrue(completed.isCompleted());
+        assertNotNull(completed.getCompletedAt());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LessonProgressResponse> progress = progressService.getStudentProgressForCourse(student.getId(), course.getId());
+        assertEquals(4, progress.size());
+        for (LessonProgressResponse lesson : progress) {
+            assertEquals(lesson.getLessonId().equals(lessonIds.get(1)), lesson.isCompleted());
+        }
+
+        Enrollment enrollment = enrollmentRepository.findById(enrollmentId).orElseThrow();
+        assertNotNull(enrollment.getProgressBitmap());
+        assertEquals(1, enrollment.getCompletedLessons());
+        assertEquals(25.0, enrollment.getProgressPercentage());
+
+        // Response projections read the count from the bitmap rather than progress rows
+        EnrollmentResponse response = enrollmentService.getEnrollmentById(enrollmentId);
+        assertEquals(1, response.getCompletedLessons());
+        assertEquals(25.0, response.getProgressPercentage());
+    }
+
+    @Test
+    void reorderLessons_KeepsCompletionWithTheLesson() {
+        enrollmentService.enrollStudent(course.getId(), student.getId());
+        progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(0));
+
+        entityManager.flush();
+        entityManager.clear();
+        Course draft = courseRepository.findById(course.getId()).orElseThrow();
+        draft.setStatus(CourseStatus.DRAFT);
+        courseRepository.save(draft);
+        lessonService.reorderLessons(course.getId(), List.of(lessonIds.get(3), lessonIds.get(2), lessonIds.get(1), lessonIds.get(0)),
+                instructor.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(progressService.getStudentProgressForLesson(student.getId(), course.getId(), lessonIds.get(0)).isCompleted());
+        assertFalse(progressService.getStudentProgressForLesson(student.getId(), course.getId(), lessonIds.get(3)).isCompleted());
+    }
+
+    @Test
+    void unenroll_WithBitmapStore_DeletesEnrollment() {
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+        progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(2));
+
+        enrollmentService.unenrollStudent(enrollmentId, student.getId());
+        entityManager.flush();
+
+        assertFalse(enrollmentRepository.existsById(enrollmentId));
+    }
+
+    @Test
+    void progressSlots_HandedOutFromCourseCounter_LegacyLessonsContinueAfterMax() {
+        assertEquals(List.of(0, 1, 2, 3), jdbcTemplate.queryForList(
+                "SELECT progress_slot FROM lessons WHERE course_id = ? ORDER BY progress_slot", Integer.class, course.getId()));
+        assertEquals(4, nextProgressSlot());
+
+        // A course from before the counter, with one lesson that never got a slot
+        jdbcTemplate.update("UPDATE courses SET next_progress_slot = NULL WHERE id = ?", course.getId());
+        jdbcTemplate.update("UPDATE lessons SET progress_slot = NULL WHERE id = ?", lessonIds.get(1));
+        entityManager.clear();
+
+        enrollmentService.enrollStudent(course.getId(), student.getId());
+        progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(1));
+        entityManager.flush();
+
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT progress_slot FROM lessons WHERE id = ?", Integer.class, lessonIds.get(1)));
+        assertEquals(5, nextProgressSlot());
+        assertTrue(progressService.getStudentProgressForLesson(student.getId(), course.getId(), lessonIds.get(1)).isCompleted());
+    }
+
+    @Test
+    void deleteLesson_SlotRetiredAndClearedOutsideTheRequest() {
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+        progressService.markLessonComplete(student.getId(), course.getId(), lessonIds.get(3));
+        // A course from before the counter
+        jdbcTemplate.update("UPDATE courses SET next_progress_slot = NULL WHERE id = ?", course.getId());
+        entityManager.flush();
+        entityManager.clear();
+        Course draft = courseRepository.findById(course.getId()).orElseThrow();
+        draft.setStatus(CourseStatus.DRAFT);
+        courseRepository.save(draft);
+
+        lessonService.deleteLesson(lessonIds.get(3), instructor.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // The request only retires the slot; the bit goes in the background cleanup
+        assertEquals(4, nextProgressSlot());
+        assertEquals(1, enrollmentRepository.findById(enrollmentId).orElseThrow().getCompletedLessons());
+
+        assertEquals(1, releasedSlotCleaner.clear(course.getId(), 3));
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(0, enrollmentRepository.findById(enrollmentId).orElseThrow().getCompletedLessons());
+    }
+
+    private Integer nextProgressSlot() {
+        return jdbcTemplate.queryForObject("SELECT next_progress_slot FROM courses WHERE id = ?", Integer.class, course.getId());
+    }
+}
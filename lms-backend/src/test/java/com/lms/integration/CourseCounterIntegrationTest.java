@@ -0,0 +1,103 @@
+package com.lms.integration;
+
+import com.lms.dto.LessonRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.*;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.service.CourseCounterReconciler;
+import com.lms.service.EnrollmentService;
+import com.lms.service.LessonService;
+import com.lms.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class CourseCounterIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseCounterReconciler reconciler;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User instructor;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        instructor = userService.createUser(new SignupRequest(
+                "counterinstructor", "counterinstructor@example.com", "password123", "Counter", "Instructor", Role.INSTRUCTOR));
+        student = userService.createUser(new SignupRequest(
+                "counterstudent", "counterstudent@example.com", "password123", "Counter", "Student", Role.STUDENT));
+    }
+
+    @Test
+    void serviceWrites_MaintainCounters() {
+        Course course = courseRepository.save(new Course("Counted course", "Description", instructor));
+        lessonService.createLesson(course.getId(),
+                new LessonRequest("Lesson 1", "Content", ContentType.TEXT, null, null), instructor.getId());
+        lessonService.createLesson(course.getId(),
+                new LessonRequest("Lesson 2", "Content", ContentType.TEXT, null, null), instructor.getId());
+        course.setStatus(CourseStatus.PUBLISHED);
+        courseRepository.save(course);
+
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+        assertCounters(course.getId(), 2, 1);
+
+        enrollmentService.adminUnenrollStudent(enrollmentId);
+        assertCounters(course.getId(), 2, 0);
+    }
+
+    @Test
+    void reconcile_RepairsDriftedCounters() {
+        Course course = courseRepository.save(new Course("Drifted course", "Description", instructor));
+        lessonRepository.save(new Lesson("Lesson", "Content", ContentType.TEXT, 1, course));
+        enrollmentRepository.save(new Enrollment(student, course));
+
+        assertTrue(reconciler.reconcile() >= 1);
+        assertCounters(course.getId(), 1, 1);
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    private void assertCounters(Long courseId, int lessons, int enrollments) {
+        courseRepository.flush();
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT lesson_count, enrollment_count FROM courses WHERE id = ?", courseId);
+        assertEquals(lessons, ((Number) row.get("LESSON_COUNT")).intValue());
+        assertEquals(enrollments, ((Number) row.get("ENROLLMENT_COUNT")).intValue());
+    }
+}
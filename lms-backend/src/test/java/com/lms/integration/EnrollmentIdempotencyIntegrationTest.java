@@ -0,0 +1,176 @@
+package com.lms.integration;
+
+import com.lms.dto.EnrollmentResponse;
+import com.lms.dto.LessonRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.*;
+import com.lms.exception.BadRequestException;
+import com.lms.exception.ResourceNotFoundException;
+import com.lms.repository.CourseRepository;
+import com.lms.service.CourseService;
+import com.lms.service.EnrollmentService;
+import com.lms.service.LessonService;
+import com.lms.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class EnrollmentIdempotencyIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User instructor;
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        instructor = userService.createUser(new SignupRequest(
+                "ideminstructor", "ideminstructor@example.com", "password123", "Idem", "Instructor", Role.INSTRUCTOR));
+        student = userService.createUser(new SignupRequest(
+                "idemstudent", "idemstudent@example.com", "password123", "Idem", "Student", Role.STUDENT));
+        course = courseRepository.save(new Course("Launch course", "Description", instructor));
+        for (int i = 1; i <= 3; i++) {
+            lessonService.createLesson(course.getId(),
+                    new LessonRequest("Lesson " + i, "Content", ContentType.TEXT, null, null), instructor.getId());
+        }
+        course.setStatus(CourseStatus.PUBLISHED);
+        courseRepository.save(course);
+    }
+
+    @Test
+    void enrollStudent_Repeated_ReturnsSameEnrollmentOnce() {
+        EnrollmentResponse first = enrollmentService.enrollStudent(course.getId(), student.getId());
+        EnrollmentResponse second = enrollmentService.enrollStudent(course.getId(), student.getId(), "retry-1");
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("Idem Student", second.getStudentName());
+        assertEquals("Launch course", second.getCourseTitle());
+        assertEquals(3, second.getTotalLessons());
+        assertEquals(0, second.getCompletedLessons());
+
+        // The duplicate wrote nothing: one row, one counter increment, one set of progress rows
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE course_id = ?"));
+        assertEquals(1, count("SELECT enrollment_count FROM courses WHERE id = ?"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress WHERE enrollment_id = ?",
+                Integer.class, first.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void enrollStudent_ConcurrentRequestCommittedAfterSnapshot_ReturnsThatEnrollment() throws Exception {
+        // Runs without the test transaction so each request commits on its own connection. The
+        // second request's REPEATABLE READ snapshot is taken before the first one commits, as
+        // on MySQL when both arrive together, so its duplicate insert cannot see the winning row
+        TransactionTemplate repeatableRead = new TransactionTemplate(transactionManager);
+        repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch snapshotTaken = new CountDownLatch(1);
+            CountDownLatch firstCommitted = new CountDownLatch(1);
+            Future<EnrollmentResponse> second = executor.submit(() -> repeatableRead.execute(status -> {
+                assertEquals(0, count("SELECT COUNT(*) FROM enrollments WHERE course_id = ?"));
+                snapshotTaken.countDown();
+                await(firstCommitted);
+                return enrollmentService.enrollStudent(course.getId(), student.getId(), "concurrent-2");
+            }));
+            Future<EnrollmentResponse> first = executor.submit(() -> {
+                await(snapshotTaken);
+                try {
+                    return enrollmentService.enrollStudent(course.getId(), student.getId(), "concurrent-1");
+                } finally {
+                    firstCommitted.countDown();
+                }
+            });
+
+            Long firstId = first.get(30, TimeUnit.SECONDS).getId();
+            assertEquals(firstId, second.get(30, TimeUnit.SECONDS).getId());
+            assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE course_id = ?"));
+            assertEquals(1, count("SELECT enrollment_count FROM courses WHERE id = ?"));
+        } finally {
+            executor.shutdownNow();
+            courseService.adminDeleteCourse(course.getId());
+            userService.deleteUser(student.getId());
+            userService.deleteUser(instructor.getId());
+        }
+    }
+
+    @Test
+    void enrollStudent_UnpublishedOrMissingCourse_Rejected() {
+        Course draft = courseRepository.save(new Course("Draft course", "Description", instructor));
+
+        assertThrows(BadRequestException.class,
+                () -> enrollmentService.enrollStudent(draft.getId(), student.getId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> enrollmentService.enrollStudent(draft.getId() + 1000, student.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM enrollments WHERE student_id = ?",
+                Integer.class, student.getId()));
+    }
+
+    @Test
+    void enrollStudent_NotAStudent_Rejected() {
+        assertThrows(BadRequestException.class,
+                () -> enrollmentService.enrollStudent(course.getId(), instructor.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments WHERE course_id = ?"));
+    }
+
+    @Test
+    void enrollStudent_InvalidIdempotencyKey_Rejected() {
+        assertThrows(BadRequestException.class,
+                () -> enrollmentService.enrollStudent(course.getId(), student.getId(), " "));
+        assertThrows(BadRequestException.class,
+                () -> enrollmentService.enrollStudent(course.getId(), student.getId(), "k".repeat(256)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, course.getId());
+    }
+}
@@ -0,0 +1,188 @@
+package com.lms.integration;
+
+import com.lms.dto.LessonCompactionReport;
+import com.lms.dto.LessonRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.ContentType;
+import com.lms.entity.Course;
+import com.lms.entity.Lesson;
+import com.lms.entity.Role;
+import com.lms.entity.User;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.service.LessonContentCompactor;
+import com.lms.service.LessonService;
+import com.lms.service.UserService;
+import com.lms.util.GzipCodec;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class LessonContentCompressionIntegrationTest {
+
+    private static final String LONG_CONTENT = "Closures capture variables from the enclosing scope. ".repeat(200);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private LessonContentCompactor compactor;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        instructor = userService.createUser(new SignupRequest(
+                "gzipinstructor", "gzipinstructor@example.com", "password123", "Gzip", "Instructor", Role.INSTRUCTOR));
+        course = courseRepository.save(new Course("Compressed course", "Description", instructor));
+    }
+
+    @Test
+    void createLesson_LongBodyStoredCompressed_ShortBodyInline() throws Exception {
+        Long longId = lessonService.createLesson(course.getId(),
+                new LessonRequest("Long", LONG_CONTENT, ContentType.TEXT, null, null), instructor.getId()).getId();
+        Long shortId = lessonService.createLesson(course.getId(),
+                new LessonRequest("Short", "Brief note", ContentType.TEXT, null, null), instructor.getId()).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Object> longRow = storedColumns(longId);
+        assertNull(longRow.get("CONTENT"));
+        assertTrue(((byte[]) longRow.get("CONTENT_GZIP")).length < LONG_CONTENT.length() / 10);
+        Map<String, Object> shortRow = storedColumns(shortId);
+        assertEquals("Brief note", shortRow.get("CONTENT"));
+        assertNull(shortRow.get("CONTENT_GZIP"));
+
+        assertEquals(LONG_CONTENT, lessonRepository.findById(longId).orElseThrow().getContent());
+        mockMvc.perform(get("/api/courses/public/" + course.getId() + "/lessons/" + longId + "/content"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value(LONG_CONTENT));
+    }
+
+    @Test
+    void rawContent_CompressedBodyPassedThroughToGzipClients() throws Exception {
+        Long lessonId = lessonService.createLesson(course.getId(),
+                new LessonRequest("Long", LONG_CONTENT, ContentType.TEXT, null, null), instructor.getId()).getId();
+        entityManager.flush();
+        entityManager.clear();
+        String url = "/api/courses/public/" + course.getId() + "/lessons/" + lessonId + "/content/raw";
+
+        byte[] gzipped = mockMvc.perform(get(url).header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(LONG_CONTENT, GzipCodec.decompress(gzipped));
+
+        String identity = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(LONG_CONTENT, identity);
+    }
+
+    @Test
+    void rawContent_GzipRefusedByQValue_SentUncompressed() throws Exception {
+        Long lessonId = lessonService.createLesson(course.getId(),
+                new LessonRequest("Long", LONG_CONTENT, ContentType.TEXT, null, null), instructor.getId()).getId();
+        entityManager.flush();
+        entityManager.clear();
+        String url = "/api/courses/public/" + course.getId() + "/lessons/" + lessonId + "/content/raw";
+
+        for (String acceptEncoding : List.of("gzip;q=0", "deflate, gzip; q=0.0", "*;q=0", "br, *;q=0.5, gzip;q=0")) {
+            String identity = mockMvc.perform(get(url).header("Accept-Encoding", acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(header().string("ETag", not(containsString("-gz"))))
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(LONG_CONTENT, identity, acceptEncoding);
+        }
+
+        mockMvc.perform(get(url).header("Accept-Encoding", "br;q=1.0, gzip;q=0.5"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+        mockMvc.perform(get(url).header("Accept-Encoding", "*"))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void compactAll_CompressesExistingRowsAndReportsSavings() {
+        // Rows written before compressed storage: inline regardless of size
+        for (int i = 1; i <= 5; i++) {
+            lessonRepository.save(new Lesson("Legacy " + i, LONG_CONTENT + i, ContentType.TEXT, i, course));
+        }
+        Lesson brief = lessonRepository.save(new Lesson("Legacy short", "Brief note", ContentType.TEXT, 6, course));
+        entityManager.flush();
+        entityManager.clear();
+
+        LessonCompactionReport report = compactor.compactAll();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(report.getLessonsScanned() >= 6);
+        assertEquals(5, report.getLessonsCompressed());
+        assertTrue(report.getSavedPercentage() > 80);
+        assertEquals(report.getBytesBefore() - report.getBytesAfter(), report.getBytesSaved());
+        assertEquals("Brief note", storedColumns(brief.getId()).get("CONTENT"));
+        for (Lesson lesson : lessonRepository.findByCourseIdOrderByOrderIndexAsc(course.getId())) {
+            assertEquals(lesson.getOrderIndex() < 6, lesson.isContentCompressed());
+            if (lesson.getOrderIndex() < 6) {
+                assertEquals(LONG_CONTENT + lesson.getOrderIndex(), lesson.getContent());
+            }
+        }
+
+        // Nothing left to compress on a second run
+        assertEquals(0, compactor.compactAll().getLessonsCompressed());
+    }
+
+    private Map<String, Object> storedColumns(Long lessonId) {
+        return jdbcTemplate.queryForMap("SELECT content, content_gzip FROM lessons WHERE id = ?", lessonId);
+    }
+}
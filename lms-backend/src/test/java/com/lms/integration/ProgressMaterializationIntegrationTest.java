@@ -0,0 +1,210 @@
+package com.lms.integration;
+
+import com.lms.dto.LessonProgressResponse;
+import com.lms.dto.LessonRequest;
+import com.lms.dto.ProgressFanoutResponse;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.*;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.ProgressFanoutJobRepository;
+import com.lms.service.EnrollmentService;
+import com.lms.service.LessonService;
+import com.lms.service.ProgressFanoutRunner;
+import com.lms.service.ProgressFanoutService;
+import com.lms.service.ProgressService;
+import com.lms.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "progress.fanout.chunk-size=2")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class ProgressMaterializationIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private ProgressFanoutService progressFanoutService;
+
+    @Autowired
+    private ProgressFanoutRunner progressFanoutRunner;
+
+    @Autowired
+    private ProgressFanoutJobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        instructor = userService.createUser(new SignupRequest(
+                "batchinstructor", "batchinstructor@example.com", "password123", "Batch", "Instructor", Role.INSTRUCTOR));
+        course = new Course("Batched course", "Description", instructor);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = courseRepository.save(course);
+        for (int i = 1; i <= 7; i++) {
+            lessonRepository.save(new Lesson("Lesson " + i, "Content", ContentType.TEXT, i, course));
+        }
+    }
+
+    @Test
+    void enrollStudent_CreatesOneIncompleteProgressRowPerLesson() {
+        User student = student("batchstudent");
+
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+
+        assertEquals(7, countProgress("enrollment_id = ?", enrollmentId));
+        assertEquals(0, countProgress("enrollment_id = ? AND completed = true", enrollmentId));
+
+        // The rows are ordinary progress rows for the JPA side
+        Long lessonId = lessonRepository.findIdsByCourseId(course.getId()).get(2);
+        LessonProgressResponse progress = progressService.markLessonComplete(student.getId(), course.getId(), lessonId);
+        assertTrue(progress.isCompleted());
+        assertNotNull(progress.getCompletedAt());
+    }
+
+    @Test
+    void createLesson_WithEnrollments_FansOutInBackgroundChunks() {
+        List<Long> enrollmentIds = List.of(
+                enrollmentService.enrollStudent(course.getId(), student("batchstudent1").getId()).getId(),
+                enrollmentService.enrollStudent(course.getId(), student("batchstudent2").getId()).getId(),
+                enrollmentService.enrollStudent(course.getId(), student("batchstudent3").getId()).getId());
+        course.setStatus(CourseStatus.DRAFT);
+        courseRepository.save(course);
+
+        Long lessonId = lessonService.createLesson(course.getId(),
+                new LessonRequest("Lesson 8", "Content", ContentType.TEXT, null, null), instructor.getId()).getId();
+
+        // The instructor's request only records the job
+        ProgressFanoutJob job = jobRepository.findByLessonId(lessonId).orElseThrow();
+        assertEquals(ProgressFanoutStatus.PENDING, job.getStatus());
+        assertEquals(0, countProgress("lesson_id = ?", lessonId));
+
+        assertTrue(progressFanoutRunner.run(job.getId()));
+
+        assertEquals(3, countProgress("lesson_id = ?", lessonId));
+        for (Long enrollmentId : enrollmentIds) {
+            assertEquals(8, countProgress("enrollment_id = ?", enrollmentId));
+        }
+        ProgressFanoutResponse status = progressFanoutService.getLessonFanout(course.getId(), lessonId, instructor.getId());
+        assertEquals(ProgressFanoutStatus.COMPLETED, status.getStatus());
+        assertEquals(3, status.getEnrollmentsScanned());
+        assertEquals(3, status.getRowsInserted());
+        assertEquals(100.0, status.getPercentage());
+        assertNotNull(status.getFinishedAt());
+    }
+
+    @Test
+    void markLessonComplete_BeforeFanoutReachesEnrollment_CreatesTheRow() {
+        User student = student("earlystudent");
+        Long enrollmentId = enrollmentService.enrollStudent(course.getId(), student.getId()).getId();
+        Lesson added = lessonRepository.save(new Lesson("Lesson 8", "Content", ContentType.TEXT, 8, course));
+        progressService.createProgressForNewLesson(added.getId());
+        Long jobId = jobRepository.findByLessonId(added.getId()).orElseThrow().getId();
+
+        assertFalse(progressService.getStudentProgressForLesson(student.getId(), course.getId(), added.getId()).isCompleted());
+        assertTrue(progressService.markLessonComplete(student.getId(), course.getId(), added.getId()).isCompleted());
+        assertEquals(1, countProgress("lesson_id = ?", added.getId()));
+        assertEquals(8, countProgress("enrollment_id = ?", enrollmentId));
+
+        // The job finds the row already there
+        assertTrue(progressFanoutRunner.run(jobId));
+        assertEquals(1, countProgress("lesson_id = ?", added.getId()));
+        assertEquals(0, jobRepository.findById(jobId).orElseThrow().getRowsInserted());
+        assertTrue(progressService.getStudentProgressForLesson(student.getId(), course.getId(), added.getId()).isCompleted());
+    }
+
+    @Test
+    void createLesson_WithoutEnrollments_RecordsNoJob() {
+        Course draft = courseRepository.save(new Course("Empty course", "Description", instructor));
+
+        Long lessonId = lessonService.createLesson(draft.getId(),
+                new LessonRequest("Lesson 1", "Content", ContentType.TEXT, null, null), instructor.getId()).getId();
+
+        assertTrue(jobRepository.findByLessonId(lessonId).isEmpty());
+    }
+
+    @Test
+    void fanout_ResumesAfterLastCommittedChunk() {
+        for (int i = 1; i <= 5; i++) {
+            enrollmentService.enrollStudent(course.getId(), student("resumestudent" + i).getId());
+        }
+        Lesson added = lessonRepository.save(new Lesson("Lesson 8", "Content", ContentType.TEXT, 8, course));
+        progressService.createProgressForNewLesson(added.getId());
+        Long jobId = jobRepository.findByLessonId(added.getId()).orElseThrow().getId();
+
+        // One chunk of two enrollments, then the process "stops"
+        assertFalse(progressFanoutService.runChunk(jobId));
+        ProgressFanoutJob job = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(ProgressFanoutStatus.RUNNING, job.getStatus());
+        assertEquals(2, job.getRowsInserted());
+        assertEquals(2, countProgress("lesson_id = ?", added.getId()));
+
+        // Enrolling now creates the row for the new lesson up front; the job must not duplicate it
+        enrollmentService.enrollStudent(course.getId(), student("latestudent").getId());
+        assertTrue(progressFanoutService.findResumableJobIds().contains(jobId));
+
+        assertTrue(progressFanoutRunner.run(jobId));
+
+        assertEquals(6, countProgress("lesson_id = ?", added.getId()));
+        job = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(ProgressFanoutStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getEnrollmentsScanned());
+        assertEquals(5, job.getRowsInserted());
+        assertFalse(progressFanoutService.findResumableJobIds().contains(jobId));
+    }
+
+    @Test
+    void fanout_LessonDeletedBeforeRun_Cancelled() {
+        enrollmentService.enrollStudent(course.getId(), student("cancelstudent").getId());
+        Lesson added = lessonRepository.save(new Lesson("Lesson 8", "Content", ContentType.TEXT, 8, course));
+        progressService.createProgressForNewLesson(added.getId());
+        Long jobId = jobRepository.findByLessonId(added.getId()).orElseThrow().getId();
+        lessonRepository.delete(added);
+
+        assertTrue(progressFanoutRunner.run(jobId));
+
+        assertEquals(ProgressFanoutStatus.CANCELLED, jobRepository.findById(jobId).orElseThrow().getStatus());
+        assertEquals(0, countProgress("lesson_id = ?", added.getId()));
+    }
+
+    private User student(String username) {
+        return userService.createUser(new SignupRequest(
+                username, username + "@example.com", "password123", "Batch", "Student", Role.STUDENT));
+    }
+
+    private int countProgress(String where, Long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress WHERE " + where, Integer.class, id);
+    }
+}
@@ -0,0 +1,360 @@
+package com.lms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.config.UserPrincipal;
+import com.lms.dto.LoginRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.entity.ContentType;
+import com.lms.entity.Course;
+import com.lms.entity.CourseStatus;
+import com.lms.entity.Enrollment;
+import com.lms.entity.Lesson;
+import com.lms.entity.Progress;
+import com.lms.entity.Role;
+import com.lms.entity.User;
+import com.lms.repository.CourseRepository;
+import com.lms.repository.EnrollmentRepository;
+import com.lms.repository.LessonRepository;
+import com.lms.repository.ProgressRepository;
+import com.lms.service.CourseCounterReconciler;
+import com.lms.service.UserCache;
+import com.lms.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards the number of SQL statements issued by hot endpoints. Counts come from Hibernate
+ * statistics (enabled in application-test.yml), so only JPA/Hibernate statements are included.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class QueryCountIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ProgressRepository progressRepository;
+
+    @Autowired
+    private CourseCounterReconciler courseCounterReconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void signin_IssuesSingleUserQuery() throws Exception {
+        User user = userService.createUser(new SignupRequest(
+                "querycount", "querycount@example.com", "password123", "Query", "Count", Role.STUDENT));
+        userCache.invalidate(user.getId(), user.getUsername());
+        statistics.clear();
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("querycount", "password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.email").value("querycount@example.com"))
+                .andExpect(jsonPath("$.firstName").value("Query"))
+                .andExpect(jsonPath("$.lastName").value("Count"))
+                .andExpect(jsonPath("$.role").value("STUDENT"));
+
+        // One SELECT for the user plus the INSERT of the new refresh token
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void publishedCoursePage_StatementCountIndependentOfPageSize() throws Exception {
+        User instructor = userService.createUser(new SignupRequest(
+                "pageinstructor", "pageinstructor@example.com", "password123", "Page", "Instructor", Role.INSTRUCTOR));
+        User student = userService.createUser(new SignupRequest(
+                "pagestudent", "pagestudent@example.com", "password123", "Page", "Student", Role.STUDENT));
+        for (int i = 0; i < 12; i++) {
+            Course course = new Course("Paged course " + i, "Description " + i, instructor);
+            course.setStatus(CourseStatus.PUBLISHED);
+            course = courseRepository.save(course);
+            lessonRepository.save(new Lesson("Lesson " + i, "Content", ContentType.TEXT, 1, course));
+            enrollmentRepository.save(new Enrollment(student, course));
+        }
+        // Rows were written around the services, so bring the counter columns in line
+        courseCounterReconciler.reconcile();
+
+        long smallPage = statementsFor("/api/courses/public?size=2");
+        long largePage = statementsFor("/api/courses/public?size=12");
+
+        // One projection query plus the page count query
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void publishedCourseScroll_VisitsEveryCourseOnceWithoutCountQuery() throws Exception {
+        User instructor = userService.createUser(new SignupRequest(
+                "scrollinstructor", "scrollinstructor@example.com", "password123", "Scroll", "Instructor", Role.INSTRUCTOR));
+        Set<Long> published = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            Course course = new Course("Scrolled course " + i, "Description " + i, instructor);
+            course.setStatus(CourseStatus.PUBLISHED);
+            published.add(courseRepository.save(course).getId());
+        }
+        courseRepository.save(new Course("Draft course", "Not listed", instructor));
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        boolean hasNext = true;
+        while (hasNext) {
+            statistics.clear();
+            String body = mockMvc.perform(get("/api/courses/public/scroll")
+                            .param("size", "3")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            // A single seek query per page, whatever the depth
+            assertEquals(1, statistics.getPrepareStatementCount());
+
+            JsonNode page = objectMapper.readTree(body);
+            for (JsonNode course : page.get("content")) {
+                assertTrue(seen.add(course.get("id").asLong()));
+            }
+            hasNext = page.get("hasNext").asBoolean();
+            cursor = page.get("nextCursor").asText();
+        }
+
+        assertTrue(seen.containsAll(published));
+        assertEquals(courseRepository.findByStatus(CourseStatus.PUBLISHED, Pageable.unpaged()).getTotalElements(),
+                seen.size());
+    }
+
+    @Test
+    void courseDetail_FixedStatementCountIndependentOfLessons() throws Exception {
+        User instructor = userService.createUser(new SignupRequest(
+                "detailinstructor", "detailinstructor@example.com", "password123", "Detail", "Instructor", Role.INSTRUCTOR));
+        User student = userService.createUser(new SignupRequest(
+                "detailstudent", "detailstudent@example.com", "password123", "Detail", "Student", Role.STUDENT));
+        Course course = new Course("Detailed course", "Description", instructor);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = courseRepository.save(course);
+        Enrollment enrollment = enrollmentRepository.save(new Enrollment(student, course));
+        Long completedLessonId = null;
+        for (int i = 5; i >= 1; i--) {
+            Lesson lesson = lessonRepository.save(new Lesson("Lesson " + i, "Content", ContentType.TEXT, i, course));
+            Progress progress = new Progress(enrollment, lesson);
+            progress.setCompleted(i == 2);
+            progressRepository.save(progress);
+            if (i == 2) {
+                completedLessonId = lesson.getId();
+            }
+        }
+        courseCounterReconciler.reconcile();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/courses/public/" + course.getId() + "/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.instructorName").value("Detail Instructor"))
+                .andExpect(jsonPath("$.lessons.length()").value(5))
+                .andExpect(jsonPath("$.lessons[0].orderIndex").value(1))
+                .andExpect(jsonPath("$.lessons[0].content").doesNotExist())
+                .andExpect(jsonPath("$.enrolled").value(false));
+        // Course with its instructor, then the lesson summaries
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get("/api/courses/public/" + course.getId() + "/detail")
+                        .with(user(UserPrincipal.create(student))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lessons.length()").value(5))
+                .andExpect(jsonPath("$.enrolled").value(true))
+                .andExpect(jsonPath("$.enrollmentId").value(enrollment.getId()))
+                .andExpect(jsonPath("$.completedLessons").value(1))
+                .andExpect(jsonPath("$.progress.length()").value(5))
+                .andExpect(jsonPath("$.progress[?(@.completed == true)].lessonId").value(completedLessonId.intValue()));
+        // Plus the enrollment with its progress rows
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void enrollmentPages_OneStatementPerPageWithCompletedCounts() throws Exception {
+        User instructor = userService.createUser(new SignupRequest(
+                "rosterinstructor", "rosterinstructor@example.com", "password123", "Roster", "Instructor", Role.INSTRUCTOR));
+        User admin = userService.createUser(new SignupRequest(
+                "rosteradmin", "rosteradmin@example.com", "password123", "Roster", "Admin", Role.ADMIN));
+        Course course = new Course("Roster course", "Description", instructor);
+        course.setStatus(CourseStatus.PUBLISHED);
+        course = courseRepository.save(course);
+        Lesson[] lessons = new Lesson[4];
+        for (int i = 0; i < lessons.length; i++) {
+            lessons[i] = lessonRepository.save(new Lesson("Lesson " + i, "Content", ContentType.TEXT, i + 1, course));
+        }
+        // Student n has completed n of the four lessons
+        for (int n = 0; n < 6; n++) {
+            User student = userService.createUser(new SignupRequest(
+                    "rosterstudent" + n, "rosterstudent" + n + "@example.com", "password123", "Roster", "Student" + n, Role.STUDENT));
+            Enrollment enrollment = enrollmentRepository.save(new Enrollment(student, course));
+            for (int i = 0; i < lessons.length; i++) {
+                Progress progress = new Progress(enrollment, lessons[i]);
+                progress.setCompleted(i < Math.min(n, lessons.length));
+                progressRepository.save(progress);
+            }
+        }
+        courseCounterReconciler.reconcile();
+        entityManager.flush();
+        entityManager.clear();
+
+        UserPrincipal instructorPrincipal = UserPrincipal.create(instructor);
+        statistics.clear();
+        mockMvc.perform(get("/api/enrollments/instructor/my-students").param("size", "2")
+                        .with(user(instructorPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.totalElements").value(6));
+        long smallPage = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/enrollments/instructor/my-students").param("size", "5")
+                        .with(user(instructorPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5));
+        // The projection plus the count query, whatever the page size
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/enrollments/instructor/my-students").param("size", "20")
+                        .with(user(instructorPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent3')].completedLessons").value(3))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent3')].totalLessons").value(4))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent3')].progressPercentage").value(75.0))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent5')].completedLessons").value(4))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent0')].studentName").value("Roster Student0"))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent0')].courseTitle").value("Roster course"));
+        // A first page holding every row needs no count query
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/enrollments/admin/all").param("size", "2")
+                        .with(user(UserPrincipal.create(admin))))
+                .andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/enrollments/instructor/my-students/scroll").param("size", "20")
+                        .with(user(instructorPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(jsonPath("$.content[?(@.studentUsername == 'rosterstudent2')].completedLessons").value(2));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void lessonContent_ConditionalRequestSkipsContent() throws Exception {
+        User instructor = userService.createUser(new SignupRequest(
+                "etaginstructor", "etaginstructor@example.com", "password123", "ETag", "Instructor", Role.INSTRUCTOR));
+        Course course = courseRepository.save(new Course("Cached course", "Description", instructor));
+        Lesson lesson = lessonRepository.save(new Lesson("Long lesson", "x".repeat(10_000), ContentType.TEXT, 1, course));
+        entityManager.flush();
+        entityManager.clear();
+
+        String lessons = "/api/courses/public/" + course.getId() + "/lessons";
+        mockMvc.perform(get(lessons))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Long lesson"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+        mockMvc.perform(get(lessons).param("includeContent", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].content").value("x".repeat(10_000)));
+
+        String content = lessons + "/" + lesson.getId() + "/content";
+        String eTag = mockMvc.perform(get(content))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content").value("x".repeat(10_000)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(get(content).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // Only the version lookup; the content column is never read
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get(lessons + "/" + (lesson.getId() + 1000) + "/content"))
+                .andExpect(status().isNotFound());
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].totalLessons").value(1))
+                .andExpect(jsonPath("$.content[0].enrollmentCount").value(1))
+                .andExpect(jsonPath("$.content[0].instructorName").value("Page Instructor"));
+        return statistics.getPrepareStatementCount();
+    }
+}
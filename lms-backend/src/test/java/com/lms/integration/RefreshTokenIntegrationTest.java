@@ -0,0 +1,112 @@
+package com.lms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lms.dto.LoginRequest;
+import com.lms.dto.SignupRequest;
+import com.lms.dto.TokenRefreshRequest;
+import com.lms.entity.Role;
+import com.lms.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+class RefreshTokenIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void refresh_RotatesTokens_AndReuseRevokesFamily() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        userService.createUser(new SignupRequest(
+                "refresher", "refresher@example.com", "password123", "Re", "Fresher", Role.STUDENT));
+
+        JsonNode signin = readJson(mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("refresher", "password123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty()));
+        String firstRefresh = signin.get("refreshToken").asText();
+
+        JsonNode rotated = readJson(refresh(mockMvc, firstRefresh)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty()));
+        String secondRefresh = rotated.get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/auth/me")
+                        .header("Authorization", "Bearer " + rotated.get("token").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("refresher"));
+
+        // Replaying the first token revokes the whole family, including the token it was rotated into
+        refresh(mockMvc, firstRefresh).andExpect(status().isUnauthorized());
+        refresh(mockMvc, secondRefresh).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_RevokesAccessTokenAndRefreshToken() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        userService.createUser(new SignupRequest(
+                "leaver", "leaver@example.com", "password123", "Lea", "Ver", Role.STUDENT));
+
+        JsonNode signin = readJson(mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("leaver", "password123"))))
+                .andExpect(status().isOk()));
+        String accessToken = signin.get("token").asText();
+        String refreshToken = signin.get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/enrollments/my-enrollments").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/enrollments/my-enrollments").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(mockMvc, refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(MockMvc mockMvc, String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken))));
+    }
+
+    private JsonNode readJson(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
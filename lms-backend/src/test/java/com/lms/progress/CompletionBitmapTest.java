@@ -0,0 +1,76 @@
+package com.lms.progress;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionBitmapTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 5, 6, 9, 30, 0);
+
+    @Test
+    void complete_OutOfOrderSlots_KeepTheirOwnTimes() {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.complete(70, MONDAY.plusHours(2));
+        bitmap.complete(3, MONDAY);
+        bitmap.complete(12, MONDAY.plusHours(1));
+
+        CompletionBitmap decoded = CompletionBitmap.fromBytes(bitmap.toBytes());
+
+        assertEquals(3, decoded.cardinality());
+        assertEquals(MONDAY, decoded.getCompletedAt(3));
+        assertEquals(MONDAY.plusHours(1), decoded.getCompletedAt(12));
+        assertEquals(MONDAY.plusHours(2), decoded.getCompletedAt(70));
+        assertFalse(decoded.isCompleted(4));
+        assertNull(decoded.getCompletedAt(4));
+    }
+
+    @Test
+    void complete_AlreadyCompleted_KeepsOriginalTime() {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.complete(5, MONDAY);
+        bitmap.complete(5, MONDAY.plusDays(1));
+
+        assertEquals(MONDAY, bitmap.getCompletedAt(5));
+        assertEquals(1, bitmap.cardinality());
+    }
+
+    @Test
+    void clear_RemovesOnlyThatSlot() {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.complete(1, MONDAY);
+        bitmap.complete(2, MONDAY.plusMinutes(1));
+        bitmap.complete(3, MONDAY.plusMinutes(2));
+
+        bitmap.clear(2);
+        bitmap.clear(40);
+
+        CompletionBitmap decoded = CompletionBitmap.fromBytes(bitmap.toBytes());
+        assertFalse(decoded.isCompleted(2));
+        assertEquals(MONDAY, decoded.getCompletedAt(1));
+        assertEquals(MONDAY.plusMinutes(2), decoded.getCompletedAt(3));
+    }
+
+    @Test
+    void count_MatchesCardinalityWithoutDecoding() {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (int slot = 0; slot < 200; slot += 3) {
+            bitmap.complete(slot, MONDAY);
+        }
+
+        assertEquals(bitmap.cardinality(), CompletionBitmap.count(bitmap.toBytes()));
+        assertEquals(0, CompletionBitmap.count(CompletionBitmap.empty().toBytes()));
+        assertEquals(0, CompletionBitmap.count(null));
+    }
+
+    @Test
+    void toBytes_StaysCompact() {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        bitmap.complete(79, MONDAY);
+
+        // 80 lessons: two bitset words plus a single completion time
+        assertEquals(4 + 2 * 8 + 4, bitmap.toBytes().length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetBitmapsTest {
+
+    private FacetBitmaps sample() {
+        FacetBitmaps bitmaps = new FacetBitmaps();
+        bitmaps.put(1L, Map.of("status", Set.of("PUBLISHED"), "contentType", Set.of("TEXT", "VIDEO")));
+        bitmaps.put(2L, Map.of("status", Set.of("PUBLISHED"), "contentType", Set.of("PDF")));
+        bitmaps.put(3L, Map.of("status", Set.of("DRAFT"), "contentType", Set.of("VIDEO")));
+        bitmaps.put(4L, Map.of("status", Set.of("PUBLISHED"), "contentType", Set.of("VIDEO")));
+        return bitmaps;
+    }
+
+    @Test
+    void query_AndsAcrossFacetsAndOrsWithinFacet() {
+        FacetResult result = sample().query(Map.of(
+                "status", Set.of("PUBLISHED"),
+                "contentType", Set.of("VIDEO", "PDF")), 0, 10);
+
+        assertEquals(3, result.getTotalHits());
+        assertEquals(List.of(4L, 2L, 1L), result.getCourseIds());
+    }
+
+    @Test
+    void query_CountsEachFacetAgainstTheOtherFacets() {
+        FacetResult result = sample().query(Map.of("contentType", Set.of("VIDEO")), 0, 10);
+
+        // Status counts see only the content-type filter
+        assertEquals(Map.of("PUBLISHED", 2L, "DRAFT", 1L), result.getCounts().get("status"));
+        // Content-type counts ignore their own selection
+        assertEquals(Map.of("TEXT", 1L, "VIDEO", 3L, "PDF", 1L), result.getCounts().get("contentType"));
+    }
+
+    @Test
+    void query_HugeLimit_SizedByMatches() {
+        FacetResult result = sample().query(Map.of("status", Set.of("PUBLISHED")), 1, Integer.MAX_VALUE);
+
+        assertEquals(List.of(2L, 1L), result.getCourseIds());
+    }
+
+    @Test
+    void putAndRemove_MoveCourseBetweenValues() {
+        FacetBitmaps bitmaps = sample();
+        bitmaps.put(3L, Map.of("status", Set.of("PUBLISHED"), "contentType", Set.of("VIDEO")));
+        bitmaps.remove(1L);
+
+        FacetResult result = bitmaps.query(Map.of("status", Set.of("PUBLISHED")), 0, 2);
+
+        assertEquals(3, result.getTotalHits());
+        assertEquals(List.of(4L, 3L), result.getCourseIds());
+        assertFalse(result.getCounts().get("status").containsKey("DRAFT"));
+        assertFalse(result.getCounts().get("contentType").containsKey("TEXT"));
+    }
+}
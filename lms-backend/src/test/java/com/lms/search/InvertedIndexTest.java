@@ -0,0 +1,81 @@
+package com.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @Test
+    void tokenize_FoldsCaseAndDropsStopWords() {
+        assertEquals(List.of("introduction", "java", "spring", "boot"),
+                Tokenizer.tokenize("An Introduction to Java & Spring-Boot!"));
+    }
+
+    @Test
+    void search_RanksTitleMatchesAndRarerTermsHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1L, "Cooking for beginners", "Learn to cook pasta and use java beans in the kitchen");
+        index.upsert(2L, "Java programming", "Objects, classes and the standard library");
+        index.upsert(3L, "Web development", "HTML, CSS and a little programming");
+
+        SearchHits hits = index.search("java programming", 0, 10);
+
+        assertEquals(3, hits.getTotalHits());
+        assertEquals(2L, hits.getCourseIds().get(0));
+    }
+
+    @Test
+    void upsertAndRemove_KeepPostingsCurrent() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1L, "Kotlin basics", "Intro course");
+        index.upsert(1L, "Scala basics", "Intro course");
+
+        assertEquals(0, index.search("kotlin", 0, 10).getTotalHits());
+        assertEquals(List.of(1L), index.search("scala", 0, 10).getCourseIds());
+        assertEquals(1, index.documentCount());
+
+        index.remove(1L);
+
+        assertEquals(0, index.search("scala", 0, 10).getTotalHits());
+        assertEquals(0, index.documentCount());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    void search_PagesThroughRankedHits() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.upsert(id, "Course " + id, "Data science track");
+        }
+
+        SearchHits page = index.search("data", 20, 10);
+
+        assertEquals(25, page.getTotalHits());
+        assertEquals(5, page.getCourseIds().size());
+    }
+
+    @Test
+    void fuzzySearch_MatchesMisspelledTokens() {
+        InvertedIndex index = new InvertedIndex();
+        index.upsert(1L, "Python programming", "Scripts and data analysis");
+        index.upsert(2L, "Programming in Go", "Concurrency with goroutines");
+        index.upsert(3L, "Pottery", "Throwing on the wheel");
+
+        assertEquals(0, index.search("pythn progrmming", 0, 10).getTotalHits());
+
+        SearchHits hits = index.search("pythn progrmming", 0, 10, true);
+
+        assertEquals(2, hits.getTotalHits());
+        assertEquals(1L, hits.getCourseIds().get(0));
+    }
+
+    @Test
+    void boundedLevenshtein_StopsPastTheBound() {
+        assertEquals(1, TrigramIndex.boundedLevenshtein("pythn", "python", 2));
+        assertEquals(2, TrigramIndex.boundedLevenshtein("prgrmming", "programming", 2));
+        assertEquals(3, TrigramIndex.boundedLevenshtein("kitten", "sitting", 2));
+    }
+}
@@ -0,0 +1,56 @@
+package com.lms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    @Test
+    void lookup_ReturnsHeaviestValuesUnderPrefix() {
+        PrefixTrie<String> trie = new PrefixTrie<>(3);
+        trie.insert("spring boot", "spring-boot", 40);
+        trie.insert("spring security", "spring-security", 90);
+        trie.insert("sql basics", "sql", 10);
+        trie.insert("scala", "scala", 50);
+
+        assertEquals(List.of("spring-security", "scala", "spring-boot"), trie.lookup("s", 10));
+        assertEquals(List.of("spring-security", "spring-boot"), trie.lookup("spr", 10));
+        assertEquals(List.of("spring-boot"), trie.lookup("spring b", 10));
+        assertEquals(List.of("spring-security"), trie.lookup("s", 1));
+        assertTrue(trie.lookup("sprung", 10).isEmpty());
+        assertTrue(trie.lookup("spring boot camp", 10).isEmpty());
+    }
+
+    @Test
+    void lookup_ListsValueStoredUnderSeveralKeysOnce() {
+        PrefixTrie<String> trie = new PrefixTrie<>(5);
+        trie.insert("data data", "course", 5);
+        trie.insert("data", "course", 5);
+
+        assertEquals(List.of("course"), trie.lookup("da", 5));
+    }
+
+    @Test
+    void remove_RecomputesCachedTopLists() {
+        PrefixTrie<String> trie = new PrefixTrie<>(1);
+        trie.insert("java", "java", 100);
+        trie.insert("javascript", "javascript", 10);
+
+        assertEquals(List.of("java"), trie.lookup("ja", 5));
+
+        trie.remove("java", "java");
+
+        assertEquals(List.of("javascript"), trie.lookup("ja", 5));
+        trie.remove("javascript", "javascript");
+        assertTrue(trie.lookup("j", 5).isEmpty());
+    }
+
+    @Test
+    void keys_StartAtEveryWordBoundary() {
+        assertEquals(List.of("intro to spring boot", "to spring boot", "spring boot", "boot"),
+                CourseSuggester.keys("Intro to Spring-Boot!"));
+    }
+}
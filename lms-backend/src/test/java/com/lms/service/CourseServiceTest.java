@@ -9,18 +9,23 @@ import com.lms.entity.User;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.CourseRepository;
+import com.lms.search.CourseSearchIndex;
+import com.lms.search.SearchHits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +42,12 @@ class CourseServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private CourseSearchIndex courseSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -171,10 +182,10 @@ class CourseServiceTest {
         // Given
         Course publishedCourse = new Course("Published Course", "Description", instructor);
         publishedCourse.setStatus(CourseStatus.PUBLISHED);
-        Page<Course> coursePage = new PageImpl<>(Arrays.asList(publishedCourse));
+        Page<CourseResponse> coursePage = new PageImpl<>(Arrays.asList(new CourseResponse(publishedCourse)));
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(courseRepository.findByStatus(CourseStatus.PUBLISHED, pageable)).thenReturn(coursePage);
+        when(courseRepository.findSummariesByStatus(CourseStatus.PUBLISHED, pageable)).thenReturn(coursePage);
 
         // When
         Page<CourseResponse> result = courseService.getPublishedCourses(pageable);
@@ -185,6 +196,47 @@ class CourseServiceTest {
         assertEquals("Published Course", result.getContent().get(0).getTitle());
     }
 
+    @Test
+    void searchCourses_ReturnsSummariesInRankOrder() {
+        // Given
+        Course first = new Course("Spring Boot Basics", "Description", instructor);
+        first.setId(7L);
+        Course second = new Course("Advanced Spring", "Description", instructor);
+        second.setId(3L);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(courseSearchIndex.search("spring", 0, 10, false)).thenReturn(new SearchHits(List.of(7L, 3L), 2));
+        when(courseRepository.findSummariesByIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(new CourseResponse(second), new CourseResponse(first)));
+
+        // When
+        Page<CourseResponse> result = courseService.searchCourses("spring", pageable);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(7L, result.getContent().get(0).getId());
+        assertEquals(3L, result.getContent().get(1).getId());
+    }
+
+    @Test
+    void searchCourses_NoExactHits_RetriesFuzzy() {
+        // Given
+        Course course = new Course("Python Programming", "Description", instructor);
+        course.setId(5L);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(courseSearchIndex.search("pythn", 0, 10, false)).thenReturn(new SearchHits(List.of(), 0));
+        when(courseSearchIndex.search("pythn", 0, 10, true)).thenReturn(new SearchHits(List.of(5L), 1));
+        when(courseRepository.findSummariesByIdIn(List.of(5L))).thenReturn(List.of(new CourseResponse(course)));
+
+        // When
+        Page<CourseResponse> result = courseService.searchCourses("pythn", pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Python Programming", result.getContent().get(0).getTitle());
+    }
+
     @Test
     void submitForApproval_Success() {
         // Given
@@ -302,4 +354,14 @@ class CourseServiceTest {
         assertEquals("You can only delete your own courses", exception.getMessage());
         verify(courseRepository, never()).delete(any(Course.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void browseCourses_OffsetBeyondIntRange_ThrowsException() {
+        // When & Then
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> courseService.browseCourses(Map.of(), true, PageRequest.of(Integer.MAX_VALUE, 100))
+        );
+        assertEquals("Page is out of range", exception.getMessage());
+    }
+}
@@ -0,0 +1,60 @@
+package com.lms.service;
+
+import com.lms.dto.EnrollmentResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentIdempotencyCacheTest {
+
+    private final EnrollmentIdempotencyCache cache = new EnrollmentIdempotencyCache(100, Duration.ofMinutes(5));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void put_OutsideTransaction_ReplaysForSameStudentOnly() {
+        cache.put(1L, "key-1", response(10L, 20L));
+
+        assertEquals(10L, cache.get(1L, "key-1").orElseThrow().getId());
+        assertTrue(cache.get(2L, "key-1").isEmpty());
+        assertTrue(cache.get(1L, "key-2").isEmpty());
+    }
+
+    @Test
+    void put_InsideTransaction_VisibleOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1L, "key-1", response(10L, 20L));
+
+        assertTrue(cache.get(1L, "key-1").isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(20L, cache.get(1L, "key-1").orElseThrow().getCourseId());
+    }
+
+    @Test
+    void put_RolledBack_NeverCached() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1L, "key-1", response(10L, 20L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertTrue(cache.get(1L, "key-1").isEmpty());
+    }
+
+    private static EnrollmentResponse response(Long id, Long courseId) {
+        EnrollmentResponse response = new EnrollmentResponse();
+        response.setId(id);
+        response.setCourseId(courseId);
+        return response;
+    }
+}
@@ -1,19 +1,25 @@
 package com.lms.service;
 
+import com.lms.config.SecurityEpochTable;
 import com.lms.dto.SignupRequest;
 import com.lms.entity.Role;
 import com.lms.entity.User;
 import com.lms.exception.BadRequestException;
 import com.lms.exception.ResourceNotFoundException;
 import com.lms.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +36,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private SecurityEpochTable securityEpochTable;
+
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private UserAvailabilityIndex availabilityIndex = new UserAvailabilityIndex(100, 0.01);
+
     @InjectMocks
     private UserService userService;
 
@@ -61,10 +76,8 @@ class UserServiceTest {
     @Test
     void createUser_Success() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // When
         User result = userService.createUser(signupRequest);
@@ -74,13 +87,17 @@ class UserServiceTest {
         assertEquals("testuser", result.getUsername());
         assertEquals("test@example.com", result.getEmail());
         assertEquals(Role.STUDENT, result.getRole());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        assertTrue(availabilityIndex.mightHaveUsername("testuser"));
     }
 
     @Test
     void createUser_UsernameExists_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate("users.uk_users_username"));
 
         // When & Then
         BadRequestException exception = assertThrows(
@@ -88,14 +105,29 @@ class UserServiceTest {
                 () -> userService.createUser(signupRequest)
         );
         assertEquals("Username is already taken!", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void createUser_EmailExists_ThrowsException() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate("PUBLIC.UK_USERS_EMAIL_INDEX_4"));
+
+        // When & Then
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> userService.createUser(signupRequest)
+        );
+        assertEquals("Email is already in use!", exception.getMessage());
+    }
+
+    @Test
+    void createUser_LegacyConstraintName_FallsBackToLookup() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate("users.UK6dotkott2kjsp8vw4d0m25fb7"));
+        when(userRepository.existsOtherByUsername("testuser", null)).thenReturn(false);
+        when(userRepository.existsOtherByEmail("test@example.com", null)).thenReturn(true);
 
         // When & Then
         BadRequestException exception = assertThrows(
@@ -103,7 +135,16 @@ class UserServiceTest {
                 () -> userService.createUser(signupRequest)
         );
         assertEquals("Email is already in use!", exception.getMessage());
-        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void createUser_OtherConstraintViolated_Propagates() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(duplicate("users.fk_users_department"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(signupRequest));
     }
 
     @Test
@@ -202,6 +243,7 @@ class UserServiceTest {
     @Test
     void existsByUsername_ReturnsTrue() {
         // Given
+        availabilityIndex.add("testuser", "test@example.com");
         when(userRepository.existsByUsername("testuser")).thenReturn(true);
 
         // When
@@ -212,14 +254,28 @@ class UserServiceTest {
     }
 
     @Test
-    void existsByEmail_ReturnsFalse() {
-        // Given
-        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+    void existsByUsername_NotInIndex_SkipsQuery() {
+        // When
+        boolean exists = userService.existsByUsername("newuser");
+
+        // Then
+        assertFalse(exists);
+        verify(userRepository, never()).existsByUsername(anyString());
+    }
 
+    @Test
+    void existsByEmail_ReturnsFalse() {
         // When
         boolean exists = userService.existsByEmail("new@example.com");
 
         // Then
         assertFalse(exists);
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    private static DataIntegrityViolationException duplicate(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Duplicate entry 'testuser'"), constraintName));
     }
-}
\ No newline at end of file
+}
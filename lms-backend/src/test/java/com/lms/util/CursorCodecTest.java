@@ -0,0 +1,33 @@
+package com.lms.util;
+
+import com.lms.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    void decode_EncodedPosition_RoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_456_000);
+
+        CursorCodec.Position position = CursorCodec.decode(CursorCodec.encode(createdAt, 42L));
+
+        assertEquals(createdAt, position.getSortKey());
+        assertEquals(42L, position.getId());
+    }
+
+    @Test
+    void decode_BlankCursor_StartsFromTheTop() {
+        assertSame(CursorCodec.START, CursorCodec.decode(null));
+        assertSame(CursorCodec.START, CursorCodec.decode(""));
+    }
+
+    @Test
+    void decode_MalformedCursor_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode("djJ8Z2FyYmFnZXwx"));
+    }
+}
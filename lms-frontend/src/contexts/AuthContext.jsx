@@ -92,9 +92,10 @@ export const AuthProvider = ({ children }) => {
       dispatch({ type: 'LOGIN_START' });
 
       const response = await authAPI.login(credentials);
-      const { token, ...user } = response.data;
+      const { token, refreshToken, ...user } = response.data;
 
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('user', JSON.stringify(user));
 
       dispatch({
@@ -150,6 +151,7 @@ export const AuthProvider = ({ children }) => {
       });
     } catch (error) {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
       dispatch({ type: 'LOAD_USER_FAILURE' });
     }
@@ -157,7 +159,14 @@ export const AuthProvider = ({ children }) => {
 
   // Logout function
   const logout = () => {
+    // Revokes the current access token and the refresh token family on the server
+    const refreshToken = localStorage.getItem('refreshToken');
+    const token = localStorage.getItem('token');
+    if (refreshToken || token) {
+      authAPI.logout(refreshToken, token).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     dispatch({ type: 'LOGOUT' });
   };
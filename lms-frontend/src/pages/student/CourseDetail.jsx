@@ -25,6 +25,8 @@ const CourseDetail = () => {
   const [course, setCourse] = useState(null);
   const [lessons, setLessons] = useState([]);
   const [progress, setProgress] = useState([]);
+  const [lessonContents, setLessonContents] = useState({});
+  const [openLessonId, setOpenLessonId] = useState(null);
   const [isEnrolled, setIsEnrolled] = useState(false);
   const [loading, setLoading] = useState(true);
   const [reviews, setReviews] = useState([]);
@@ -43,29 +45,14 @@ const CourseDetail = () => {
   const loadCourseData = async () => {
     try {
       setLoading(true);
-      const [courseResponse, lessonsResponse, reviewsResponse] = await Promise.all([
-        coursesAPI.getCourseById(id),
-        coursesAPI.getCourseLessons(id),
-        coursesAPI.getCourseReviews(id),
-      ]);
+      // Course, lessons, enrollment and progress arrive in a single request
+      const detailResponse = await coursesAPI.getCourseDetail(id);
+      const detail = detailResponse.data;
 
-      setCourse(courseResponse.data);
-      setLessons(lessonsResponse.data);
-
-      // Check enrollment status
-      try {
-        const enrollmentStatus = await enrollmentsAPI.checkEnrollmentStatus(id);
-        setIsEnrolled(enrollmentStatus.data);
-
-        if (enrollmentStatus.data) {
-          // Load progress if enrolled
-          const progressResponse = await enrollmentsAPI.getCourseProgress(id);
-          setProgress(progressResponse.data);
-        }
-      } catch (error) {
-        // Not enrolled or error checking
-        setIsEnrolled(false);
-      }
+      setCourse(detail.course);
+      setLessons(detail.lessons);
+      setIsEnrolled(detail.enrolled);
+      setProgress(detail.progress);
     } catch (error) {
       console.error('Error loading course data:', error);
       toast.error('Failed to load course details');
@@ -97,16 +84,33 @@ const CourseDetail = () => {
       }
 
       // Update progress
-      const progressResponse = await enrollmentsAPI.getCourseProgress(id);
-      setProgress(progressResponse.data);
+      const detailResponse = await coursesAPI.getCourseDetail(id);
+      setProgress(detailResponse.data.progress);
     } catch (error) {
       console.error('Error updating lesson progress:', error);
       toast.error('Failed to update lesson progress');
     }
   };
 
+  // Lists carry no lesson content; it is fetched per lesson when opened
+  const toggleLessonContent = async (lessonId) => {
+    if (openLessonId === lessonId) {
+      setOpenLessonId(null);
+      return;
+    }
+    setOpenLessonId(lessonId);
+    if (lessonContents[lessonId]) return;
+    try {
+      const response = await coursesAPI.getLessonContent(id, lessonId);
+      setLessonContents((contents) => ({ ...contents, [lessonId]: response.data }));
+    } catch (error) {
+      console.error('Error loading lesson content:', error);
+      toast.error('Failed to load lesson content');
+    }
+  };
+
   const getProgressForLesson = (lessonId) => {
-    return progress.find(p => p.lesson.id === lessonId);
+    return progress.find(p => p.lessonId === lessonId);
   };
 
   const getContentTypeIcon = (contentType) => {
@@ -395,20 +399,28 @@ const CourseDetail = () => {
                     </div>
 
                     {isEnrolled && (
-                      <button
-                        onClick={() => handleLessonComplete(lesson.id, !isCompleted)}
-                        className={`btn ${
-                          isCompleted ? 'btn-secondary' : 'btn-primary'
-                        }`}
-                      >
-                        {isCompleted ? 'Mark Incomplete' : 'Mark Complete'}
-                      </button>
+                      <div className="flex items-center space-x-2">
+                        <button
+                          onClick={() => toggleLessonContent(lesson.id)}
+                          className="btn btn-secondary"
+                        >
+                          {openLessonId === lesson.id ? 'Hide Content' : 'View Content'}
+                        </button>
+                        <button
+                          onClick={() => handleLessonComplete(lesson.id, !isCompleted)}
+                          className={`btn ${
+                            isCompleted ? 'btn-secondary' : 'btn-primary'
+                          }`}
+                        >
+                          {isCompleted ? 'Mark Incomplete' : 'Mark Complete'}
+                        </button>
+                      </div>
                     )}
                   </div>
 
-                  {isEnrolled && lesson.content && (
+                  {isEnrolled && openLessonId === lesson.id && lessonContents[lesson.id] && (
                     <div className="mt-4 p-4 bg-white rounded border">
-                      <p className="text-gray-700">{lesson.content}</p>
+                      <p className="text-gray-700">{lessonContents[lesson.id].content}</p>
                       {lesson.contentUrl && (
                         <div className="mt-2">
                           <a
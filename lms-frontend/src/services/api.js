@@ -24,14 +24,56 @@ api.interceptors.request.use(
   }
 );
 
-// Response interceptor to handle token expiration
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.location.href = '/login';
+};
+
+// Concurrent 401s share one refresh call; refresh tokens are single-use
+let refreshPromise = null;
+
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshPromise = axios
+      .post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
+// Response interceptor to renew expired access tokens
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
-      window.location.href = '/login';
+  async (error) => {
+    const originalRequest = error.config;
+    const isAuthCall = originalRequest?.url?.startsWith('/auth/');
+    if (error.response?.status === 401 && !isAuthCall && !originalRequest._retry) {
+      if (!localStorage.getItem('refreshToken')) {
+        clearSession();
+        return Promise.reject(error);
+      }
+      originalRequest._retry = true;
+      try {
+        const token = await refreshAccessToken();
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return api(originalRequest);
+      } catch (refreshError) {
+        clearSession();
+        return Promise.reject(refreshError);
+      }
+    }
+    if (error.response?.status === 401 && !isAuthCall) {
+      clearSession();
     }
     return Promise.reject(error);
   }
@@ -42,14 +84,19 @@ export const authAPI = {
   login: (credentials) => api.post('/auth/signin', credentials),
   register: (userData) => api.post('/auth/signup', userData),
   getCurrentUser: () => api.get('/auth/me'),
+  logout: (refreshToken, token) =>
+    api.post('/auth/logout', { refreshToken }, token ? { headers: { Authorization: `Bearer ${token}` } } : {}),
 };
 
 // Courses API
 export const coursesAPI = {
   getPublishedCourses: (params) => api.get('/courses/public', { params }),
   searchCourses: (params) => api.get('/courses/public/search', { params }),
+  suggestCourses: (prefix, limit = 8) => api.get('/courses/public/suggest', { params: { prefix, limit } }),
   getCourseById: (id) => api.get(`/courses/public/${id}`),
   getCourseLessons: (id) => api.get(`/courses/public/${id}/lessons`),
+  getCourseDetail: (id) => api.get(`/courses/public/${id}/detail`),
+  getLessonContent: (courseId, lessonId) => api.get(`/courses/public/${courseId}/lessons/${lessonId}/content`),
   getCategories: () => Promise.resolve({ data: ['Programming', 'Web Development', 'Data Science', 'Mobile Development', 'DevOps', 'Design'] }),
   getCourseReviews: (id) => Promise.resolve({ data: [] }),
 